@@ -0,0 +1,108 @@
+/*  Copyright (C) 2013. All rights reserved.
+ *  Released under the terms of the GNU General Public License version 3 or later.
+ *
+ *  Contributors:
+ *  Jan-Christoph Klie - All
+ */
+
+package de.dhbw.td.benchmarks;
+
+import static de.dhbw.td.core.util.GameConstants.COLS;
+import static de.dhbw.td.core.util.GameConstants.ROWS;
+import playn.core.Json;
+import playn.core.json.JsonImpl;
+import de.dhbw.td.core.game.IGameDataSource;
+import de.dhbw.td.core.util.EFlavor;
+import de.dhbw.td.tools.ClasspathDataSource;
+
+/**
+ * Game data for the benchmarks. Either one of the shipped levels, used for
+ * every level number, or a synthetic level of the size of the screen. The
+ * number of enemies per wave and their health can be overridden in both
+ * cases; enemies which cannot be killed keep a game in a steady state.
+ */
+public class BenchmarkDataSource implements IGameDataSource {
+
+	/** Name of the synthetic level in benchmark parameters */
+	public static final String SYNTHETIC = "synthetic";
+
+	private final ClasspathDataSource shipped = new ClasspathDataSource();
+	private final Json json = new JsonImpl();
+
+	private final String level;
+	private final int enemyCount;
+	private final int health;
+
+	/**
+	 * @param level the number of a shipped level or {@link #SYNTHETIC}
+	 * @param enemyCount enemies per wave, 0 to keep the count of the level
+	 * @param health health of every enemy, 0 to keep the health of the level
+	 */
+	public BenchmarkDataSource(String level, int enemyCount, int health) {
+		this.level = level;
+		this.enemyCount = enemyCount;
+		this.health = health;
+	}
+
+	@Override
+	public String levelText(int levelNumber) {
+		if (isSynthetic()) {
+			return SyntheticData.level(COLS, ROWS);
+		}
+		return shipped.levelText(Integer.parseInt(level));
+	}
+
+	@Override
+	public Json.Object wavesJson(int levelNumber) {
+		Json.Object waves;
+		if (isSynthetic()) {
+			waves = json.parse(SyntheticData.waves(enemyCount > 0 ? enemyCount : 12));
+		} else {
+			waves = shipped.wavesJson(Integer.parseInt(level));
+		}
+
+		if (enemyCount > 0) {
+			waves.put("enemyCount", enemyCount);
+		}
+		if (health > 0) {
+			Json.Array stats = waves.getArray("waves");
+			for (int i = 0; i < stats.length(); i++) {
+				stats.getArray(i).set(0, health);
+			}
+			waves.getArray("endboss").set(0, health);
+		}
+		return waves;
+	}
+
+	/**
+	 * The levels are always built from Json, which the benchmarks may change
+	 */
+	@Override
+	public byte[] compiledLevel(int levelNumber) {
+		return null;
+	}
+
+	@Override
+	public byte[] compiledWaves(int levelNumber) {
+		return null;
+	}
+
+	@Override
+	public Json.Object towerJson(EFlavor flavor) {
+		return shipped.towerJson(flavor);
+	}
+
+	@Override
+	public boolean isLevelLoaded(int levelNumber) {
+		return true;
+	}
+
+	@Override
+	public void releaseLevel(int levelNumber) {
+		/* NOOP */
+	}
+
+	private boolean isSynthetic() {
+		return SYNTHETIC.equals(level);
+	}
+}
@@ -0,0 +1,68 @@
+/*  Copyright (C) 2013. All rights reserved.
+ *  Released under the terms of the GNU General Public License version 3 or later.
+ *
+ *  Contributors:
+ *  Jan-Christoph Klie - All
+ */
+
+package de.dhbw.td.benchmarks;
+
+import static de.dhbw.td.core.util.GameConstants.TILE_SIZE;
+import static de.dhbw.td.core.util.GameConstants.TOWERS;
+
+import java.util.Random;
+
+import de.dhbw.td.core.game.GameState;
+import de.dhbw.td.core.level.ETileType;
+import de.dhbw.td.core.util.EFlavor;
+
+/**
+ * Sets up games in a steady state: the enemies cannot be killed and the
+ * player cannot lose, so a game neither advances to the next wave nor ends
+ * while it is measured.
+ */
+public final class BenchmarkGames {
+
+	/** Health of enemies which survive any benchmark */
+	public static final int IMMORTAL = Integer.MAX_VALUE / 2;
+
+	private static final EFlavor[] FLAVORS = TOWERS.toArray(new EFlavor[TOWERS.size()]);
+
+	private BenchmarkGames() {
+		throw new RuntimeException("I shall not be initialized");
+	}
+
+	/**
+	 * @param level the number of a shipped level or {@link BenchmarkDataSource#SYNTHETIC}
+	 * @param enemyCount enemies per wave, 0 to keep the count of the level
+	 * @param towers the number of towers to build, limited by the free tiles
+	 * @return a running game
+	 */
+	public static GameState newGame(String level, int enemyCount, int towers) {
+		GameState state = new GameState(new BenchmarkDataSource(level, enemyCount, IMMORTAL), new Random(42));
+		state.reset();
+
+		// Negative amounts add credits and lifepoints
+		state.spendCredits(-IMMORTAL);
+		state.removeLifepoints(-IMMORTAL);
+
+		buildTowers(state, towers);
+		return state;
+	}
+
+	/**
+	 * Builds towers of all flavors on the free tiles, row by row
+	 */
+	private static void buildTowers(GameState state, int towers) {
+		ETileType[][] map = state.level().map();
+		int built = 0;
+		for (int row = 1; row < map.length - 1 && built < towers; row++) {
+			for (int col = 0; col < map[row].length && built < towers; col++) {
+				if (map[row][col] == ETileType.GRID) {
+					state.buildTower(FLAVORS[built % FLAVORS.length], col * TILE_SIZE, row * TILE_SIZE);
+					built++;
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,71 @@
+/*  Copyright (C) 2013. All rights reserved.
+ *  Released under the terms of the GNU General Public License version 3 or later.
+ *
+ *  Contributors:
+ *  Jan-Christoph Klie - All
+ */
+
+package de.dhbw.td.benchmarks;
+
+import static de.dhbw.td.core.util.GameConstants.UPDATE_RATE;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.dhbw.td.core.game.GameState;
+
+/**
+ * One simulation tick of a whole game, the number of projectiles in flight
+ * follows from the number of towers
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameStateBenchmark {
+
+	/** Ticks run before measuring, so enemies are on screen and towers fire */
+	private static final int SETTLE_TICKS = 2000;
+
+	@Param({ "1", "2", "3", "4", "5", "6", BenchmarkDataSource.SYNTHETIC })
+	public String level;
+
+	@Param({ "0", "16", "64" })
+	public int towers;
+
+	/** Enemies per wave, 0 keeps the count of the level */
+	@Param({ "0", "100", "1000" })
+	public int enemies;
+
+	private GameState state;
+	private double step;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		step = 1000.0 / UPDATE_RATE;
+		state = BenchmarkGames.newGame(level, enemies, towers);
+		for (int i = 0; i < SETTLE_TICKS; i++) {
+			state.update(step);
+		}
+	}
+
+	@Benchmark
+	public GameState update() {
+		state.update(step);
+		return state;
+	}
+}
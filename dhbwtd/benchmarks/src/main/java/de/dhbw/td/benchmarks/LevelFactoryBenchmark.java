@@ -0,0 +1,95 @@
+/*  Copyright (C) 2013. All rights reserved.
+ *  Released under the terms of the GNU General Public License version 3 or later.
+ *
+ *  Contributors:
+ *  Jan-Christoph Klie - All
+ */
+
+package de.dhbw.td.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import playn.core.Json;
+import playn.core.json.JsonImpl;
+import de.dhbw.td.core.level.LevelCodec;
+import de.dhbw.td.core.level.LevelFactory;
+import de.dhbw.td.tools.ClasspathDataSource;
+
+/**
+ * Building a level from its parsed Json and from its text, both including
+ * the waypoint search, and from its compiled form
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LevelFactoryBenchmark {
+
+	/** A shipped level or a synthetic one of the given size */
+	@Param({ "1", "2", "3", "4", "5", "6", "14x10", "64x64", "256x256" })
+	public String level;
+
+	private String levelText;
+	private Json.Object levelJson;
+	private byte[] compiled;
+	private LevelFactory factory;
+	private Json json;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		int x = level.indexOf('x');
+		if (x < 0) {
+			levelText = new ClasspathDataSource().levelText(Integer.parseInt(level));
+		} else {
+			int width = Integer.parseInt(level.substring(0, x));
+			int height = Integer.parseInt(level.substring(x + 1));
+			levelText = SyntheticData.level(width, height);
+		}
+		json = new JsonImpl();
+		levelJson = json.parse(levelText);
+		factory = new LevelFactory();
+		compiled = LevelCodec.encode(factory.constructLevel(levelJson));
+	}
+
+	@Benchmark
+	public de.dhbw.td.core.level.Level constructLevel() {
+		return factory.constructLevel(levelJson);
+	}
+
+	/**
+	 * Parses the text into a Json tree first, the way levels were loaded before
+	 */
+	@Benchmark
+	public de.dhbw.td.core.level.Level constructLevelFromJsonText() {
+		return factory.constructLevel(json.parse(levelText));
+	}
+
+	/**
+	 * Reads the text without a Json tree, the way the game loads a level
+	 * which is not compiled
+	 */
+	@Benchmark
+	public de.dhbw.td.core.level.Level constructLevelFromText() {
+		return factory.constructLevel(levelText);
+	}
+
+	@Benchmark
+	public de.dhbw.td.core.level.Level constructCompiledLevel() {
+		return factory.constructLevel(compiled);
+	}
+}
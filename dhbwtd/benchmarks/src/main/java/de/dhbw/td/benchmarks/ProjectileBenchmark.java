@@ -0,0 +1,75 @@
+/*  Copyright (C) 2013. All rights reserved.
+ *  Released under the terms of the GNU General Public License version 3 or later.
+ *
+ *  Contributors:
+ *  Jan-Christoph Klie - All
+ */
+
+package de.dhbw.td.benchmarks;
+
+import static de.dhbw.td.core.util.GameConstants.UPDATE_RATE;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import pythagoras.i.Point;
+import de.dhbw.td.core.enemies.EnemyPath;
+import de.dhbw.td.core.enemies.EnemyPool;
+import de.dhbw.td.core.tower.ProjectilePool;
+import de.dhbw.td.core.util.EFlavor;
+
+/**
+ * Projectiles in flight. They are too slow to ever reach their target, so
+ * the number in flight stays the same while measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProjectileBenchmark {
+
+	@Param({ "100", "1000", "10000" })
+	public int projectiles;
+
+	private ProjectilePool pool;
+	private double step;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		step = 1000.0 / UPDATE_RATE;
+
+		Point[] waypoints = { new Point(0, 128), new Point(832, 128), new Point(832, 512), new Point(0, 512) };
+		EnemyPath path = new EnemyPath(waypoints);
+		EnemyPool enemies = new EnemyPool();
+		for (int i = 0; i < 100; i++) {
+			enemies.spawn(BenchmarkGames.IMMORTAL, 0, 1, EFlavor.MATH, path).moveAlongPath(i * 20);
+		}
+
+		Random random = new Random(42);
+		pool = new ProjectilePool();
+		for (int i = 0; i < projectiles; i++) {
+			pool.spawn(random.nextInt(896), random.nextInt(640), 1, EFlavor.MATH, 0.001, enemies.get(i % 100));
+		}
+	}
+
+	@Benchmark
+	public ProjectilePool update() {
+		pool.update(step);
+		return pool;
+	}
+}
@@ -0,0 +1,100 @@
+/*  Copyright (C) 2013. All rights reserved.
+ *  Released under the terms of the GNU General Public License version 3 or later.
+ *
+ *  Contributors:
+ *  Jan-Christoph Klie - All
+ */
+
+package de.dhbw.td.benchmarks;
+
+/**
+ * Generates levels and waves in the format of the shipped Json files, to
+ * benchmark sizes no shipped level has
+ */
+public final class SyntheticData {
+
+	private static final int EDGE_LEFT_BOTTOM = 2;
+	private static final int EDGE_LEFT_TOP = 3;
+	private static final int EDGE_RIGHT_BOTTOM = 4;
+	private static final int EDGE_RIGHT_TOP = 5;
+	private static final int PATH_HORIZONTAL = 7;
+	private static final int PATH_VERTICAL = 8;
+	private static final int PATH_START = 9;
+	private static final int PATH_END = 10;
+
+	private SyntheticData() {
+		throw new RuntimeException("I shall not be initialized");
+	}
+
+	/**
+	 * A level whose path snakes through the map from the top left, turning
+	 * at the left and right border every other row. Larger maps mean longer
+	 * paths with more waypoints.
+	 *
+	 * @param width columns of the map, at least 3
+	 * @param height rows of the map, at least 4
+	 * @return the level as Json
+	 */
+	public static String level(int width, int height) {
+		// Everything but the path is grid, which is tile 0
+		int[][] tiles = new int[height][width];
+		int lastPathRow = (height - 2) % 2 == 1 ? height - 2 : height - 3;
+
+		for (int row = 1; row <= lastPathRow; row += 2) {
+			boolean right = (row / 2) % 2 == 0;
+			for (int col = 1; col < width - 1; col++) {
+				tiles[row][col] = PATH_HORIZONTAL;
+			}
+
+			int entry = right ? 0 : width - 1;
+			int exit = right ? width - 1 : 0;
+
+			if (row == 1) {
+				tiles[row][entry] = PATH_START;
+			} else {
+				tiles[row][entry] = right ? EDGE_LEFT_BOTTOM : EDGE_RIGHT_BOTTOM;
+			}
+
+			if (row == lastPathRow) {
+				tiles[row][exit] = PATH_END;
+			} else {
+				tiles[row][exit] = right ? EDGE_RIGHT_TOP : EDGE_LEFT_TOP;
+				tiles[row + 1][exit] = PATH_VERTICAL;
+			}
+		}
+
+		StringBuilder sb = new StringBuilder();
+		sb.append("{\"tiles\": [");
+		for (int row = 0; row < height; row++) {
+			sb.append(row == 0 ? "[" : ",[");
+			for (int col = 0; col < width; col++) {
+				if (col > 0) {
+					sb.append(',');
+				}
+				sb.append(tiles[row][col]);
+			}
+			sb.append(']');
+		}
+		sb.append("], \"width\": ").append(width);
+		sb.append(", \"height\": ").append(height);
+		sb.append(", \"tilesize\": 64, \"startx\": 0, \"starty\": 1}");
+		return sb.toString();
+	}
+
+	/**
+	 * Twelve waves of equally strong enemies plus an endboss
+	 *
+	 * @param enemyCount enemies per wave
+	 * @return the waves as Json
+	 */
+	public static String waves(int enemyCount) {
+		StringBuilder sb = new StringBuilder();
+		sb.append("{\"waves\": [");
+		for (int wave = 0; wave < 12; wave++) {
+			sb.append(wave == 0 ? "" : ",").append("[100, 100, 1]");
+		}
+		sb.append("], \"enemyCount\": ").append(enemyCount);
+		sb.append(", \"endboss\": [800, 50, 12]}");
+		return sb.toString();
+	}
+}
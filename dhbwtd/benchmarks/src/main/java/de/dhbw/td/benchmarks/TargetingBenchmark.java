@@ -0,0 +1,104 @@
+/*  Copyright (C) 2013. All rights reserved.
+ *  Released under the terms of the GNU General Public License version 3 or later.
+ *
+ *  Contributors:
+ *  Jan-Christoph Klie - All
+ */
+
+package de.dhbw.td.benchmarks;
+
+import static de.dhbw.td.core.util.GameConstants.COLS;
+import static de.dhbw.td.core.util.GameConstants.ROWS;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import playn.core.json.JsonImpl;
+import de.dhbw.td.core.enemies.Enemy;
+import de.dhbw.td.core.enemies.EnemyGrid;
+import de.dhbw.td.core.enemies.EnemyPath;
+import de.dhbw.td.core.enemies.EnemyPool;
+import de.dhbw.td.core.level.LevelFactory;
+import de.dhbw.td.core.tower.ProjectilePool;
+import de.dhbw.td.core.tower.Tower;
+import de.dhbw.td.core.tower.TowerFactory;
+import de.dhbw.td.core.tower.TowerStats;
+import de.dhbw.td.core.util.EFlavor;
+import de.dhbw.td.tools.ClasspathDataSource;
+
+/**
+ * A tower looking for a target among enemies spread over the synthetic
+ * level, and the spatial index it looks them up in
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TargetingBenchmark {
+
+	/** Longer than any cadenza, so the tower searches on every update */
+	private static final double RELOADED = 10000;
+
+	@Param({ "10", "100", "1000" })
+	public int enemies;
+
+	private EnemyPool pool;
+	private EnemyGrid grid;
+	private ProjectilePool projectiles;
+	private Tower tower;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		LevelFactory levelFactory = new LevelFactory();
+		EnemyPath path = new EnemyPath(levelFactory.constructLevel(
+				new JsonImpl().parse(SyntheticData.level(COLS, ROWS))).waypoints());
+
+		Random random = new Random(42);
+		pool = new EnemyPool();
+		for (int i = 0; i < enemies; i++) {
+			Enemy e = pool.spawn(BenchmarkGames.IMMORTAL, 100, 1, EFlavor.MATH, path);
+			e.moveAlongPath((int) (random.nextDouble() * path.length()));
+		}
+
+		grid = new EnemyGrid();
+		grid.rebuild(pool);
+		projectiles = new ProjectilePool();
+
+		TowerFactory towerFactory = new TowerFactory(new TowerStats(new ClasspathDataSource()));
+		tower = towerFactory.constructTower(EFlavor.MATH, COLS / 2, ROWS / 2);
+		tower.setEnemyGrid(grid);
+		tower.setProjectilePool(projectiles);
+	}
+
+	/**
+	 * Searches a target and fires at it
+	 */
+	@Benchmark
+	public int searchNewTarget() {
+		tower.update(RELOADED);
+		int fired = projectiles.size();
+		projectiles.clear();
+		return fired;
+	}
+
+	@Benchmark
+	public EnemyGrid rebuildGrid() {
+		grid.rebuild(pool);
+		return grid;
+	}
+}
@@ -0,0 +1,66 @@
+/*  Copyright (C) 2013. All rights reserved.
+ *  Released under the terms of the GNU General Public License version 3 or later.
+ *
+ *  Contributors:
+ *  Jan-Christoph Klie - All
+ */
+
+package de.dhbw.td.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import playn.core.Json;
+import pythagoras.i.Point;
+import de.dhbw.td.core.level.LevelFactory;
+import de.dhbw.td.core.waves.WaveController;
+import de.dhbw.td.core.waves.WaveControllerFactory;
+
+/**
+ * Building the waves of a level, which creates every enemy of the level
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WaveControllerFactoryBenchmark {
+
+	@Param({ "1", "2", "3", "4", "5", "6", BenchmarkDataSource.SYNTHETIC })
+	public String level;
+
+	/** Enemies per wave, 0 keeps the count of the level */
+	@Param({ "0", "1000" })
+	public int enemies;
+
+	private Json.Object wavesJson;
+	private Point[] waypoints;
+	private Random random;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		BenchmarkDataSource data = new BenchmarkDataSource(level, enemies, 0);
+		wavesJson = data.wavesJson(1);
+		waypoints = new LevelFactory().constructLevel(data.levelText(1)).waypoints();
+		random = new Random(42);
+	}
+
+	@Benchmark
+	public WaveController constructWaveController() {
+		return new WaveControllerFactory(random).constructWaveController(wavesJson, waypoints);
+	}
+}
@@ -7,14 +7,21 @@
 
 package de.dhbw.td.core;
 
-import static de.dhbw.td.core.util.GameConstants.FACTOR_DELTA_FF;
 import static de.dhbw.td.core.util.GameConstants.HEIGHT;
+import static de.dhbw.td.core.util.GameConstants.IDLE_REPAINT_INTERVAL;
+import static de.dhbw.td.core.util.GameConstants.MAX_STEPS_PER_FRAME;
+import static de.dhbw.td.core.util.GameConstants.TICK_PERIOD;
+import static de.dhbw.td.core.util.GameConstants.UNLIMITED_FRAME_BUDGET;
+import static de.dhbw.td.core.util.GameConstants.UPDATE_RATE;
 import static de.dhbw.td.core.util.GameConstants.WIDTH;
+import static playn.core.PlayN.currentTime;
 import static playn.core.PlayN.graphics;
 import static playn.core.PlayN.keyboard;
 import static playn.core.PlayN.mouse;
 import playn.core.Events;
 import playn.core.Game;
+import playn.core.GroupLayer;
+import playn.core.Key;
 import playn.core.Keyboard;
 import playn.core.Keyboard.Event;
 import playn.core.Keyboard.TypedEvent;
@@ -23,7 +30,14 @@ import playn.core.Mouse.ButtonEvent;
 import playn.core.Mouse.MotionEvent;
 import playn.core.Mouse.WheelEvent;
 import playn.core.SurfaceLayer;
+import de.dhbw.td.core.game.ESimulationSpeed;
+import de.dhbw.td.core.game.FixedStepSimulation;
 import de.dhbw.td.core.game.GameState;
+import de.dhbw.td.core.profiling.EMetric;
+import de.dhbw.td.core.profiling.IClock;
+import de.dhbw.td.core.profiling.Profiler;
+import de.dhbw.td.core.resources.AssetPreloader;
+import de.dhbw.td.core.resources.TextureAtlas;
 import de.dhbw.td.core.secret.CheatModule;
 import de.dhbw.td.core.ui.EUIState;
 import de.dhbw.td.core.ui.EUserAction;
@@ -32,7 +46,10 @@ import de.dhbw.td.core.ui.GameDrawer;
 import de.dhbw.td.core.ui.HUD;
 import de.dhbw.td.core.ui.IUIEventListener;
 import de.dhbw.td.core.ui.IngameMenu;
+import de.dhbw.td.core.ui.LoadingScreen;
 import de.dhbw.td.core.ui.MainMenu;
+import de.dhbw.td.core.ui.ProfilerOverlay;
+import de.dhbw.td.core.ui.SceneGraphDrawer;
 import de.dhbw.td.core.ui.SuccessScreen;
 
 /**
@@ -48,6 +65,7 @@ public class TowerDefense implements Game, Keyboard.Listener, Mouse.Listener {
 	 */
 	private EUIState currentUIState;
 	private GameState gameState;	
+	private FixedStepSimulation simulation;
 
 	/*
 	 * UI COMPONENTS
@@ -59,30 +77,171 @@ public class TowerDefense implements Game, Keyboard.Listener, Mouse.Listener {
 	private SuccessScreen successScreen;
 	private GameDrawer gameDrawer;
 	private CheatModule secret;
+	private LoadingScreen loadingScreen;
+	private AssetPreloader preloader;
 
 	/*
 	 * LAYERS
 	 */
+	private SurfaceLayer LEVEL_LAYER;
 	private SurfaceLayer BACKGROUND_LAYER;
+	private GroupLayer SCENE_LAYER;
 	private SurfaceLayer SPRITE_LAYER;
 
 	private boolean paused;
-	private boolean fastForward;
+	
+	/*
+	 * SIMULATION RATE
+	 */
+	private final int updateRate;
+	
+	/*
+	 * RENDERING MODE
+	 */
+	private final boolean sceneGraph;
+	private boolean continuousHealthBars;
+	
+	/*
+	 * FRAME INVALIDATION
+	 */
+	private boolean invalid = true;
+	private double lastPaint;
+	private int idleRepaintInterval = IDLE_REPAINT_INTERVAL;
+	
+	/*
+	 * INSTRUMENTATION
+	 */
+	private final IClock clock;
+	private final Profiler profiler;
+	private ProfilerOverlay profilerOverlay;
+	private SurfaceLayer OVERLAY_LAYER;
+	private boolean overlayEnabledProfiler;
+	
+	/**
+	 * Creates the game with the default simulation rate
+	 */
+	public TowerDefense() {
+		this(UPDATE_RATE);
+	}
+	
+	/**
+	 * Creates the game with the given simulation rate. PlayN calls update
+	 * every {@code TICK_PERIOD} ms no matter the rate, and drawing is
+	 * interpolated between simulation steps, so a lower rate saves CPU on
+	 * weak devices without making the motion choppy.
+	 * 
+	 * @param updateRate the number of simulation steps per second at normal speed
+	 */
+	public TowerDefense(int updateRate) {
+		this(updateRate, false);
+	}
+	
+	/**
+	 * Creates the game with the given simulation rate and rendering mode
+	 * 
+	 * @param updateRate the number of simulation steps per second at normal speed
+	 * @param sceneGraph true to give every game object a layer of its own
+	 * instead of drawing all of them every frame, see {@link SceneGraphDrawer}
+	 */
+	public TowerDefense(int updateRate, boolean sceneGraph) {
+		if (updateRate < 1) {
+			throw new IllegalArgumentException("The update rate has to be positive");
+		}
+		this.updateRate = updateRate;
+		this.sceneGraph = sceneGraph;
+		this.clock = new IClock() {
+			@Override
+			public double now() {
+				return currentTime();
+			}
+		};
+		this.profiler = new Profiler(clock);
+	}
+
+	/**
+	 * Draws continuous health bars instead of ten steps, has to be set
+	 * before the game is initialized
+	 * 
+	 * @param continuousHealthBars true for continuous health bars
+	 * @see GameDrawer#setContinuousHealthBars(boolean)
+	 */
+	public void setContinuousHealthBars(boolean continuousHealthBars) {
+		this.continuousHealthBars = continuousHealthBars;
+	}
+
+	/**
+	 * Sets how often a frame is painted while nothing changes, i.e. in the
+	 * menus or while the game is paused. Frames are always painted after
+	 * input or when the game advances.
+	 * 
+	 * @param idleRepaintInterval the time between two idle frames in milliseconds,
+	 * 0 to never paint without a change
+	 */
+	public void setIdleRepaintInterval(int idleRepaintInterval) {
+		if (idleRepaintInterval < 0) {
+			throw new IllegalArgumentException("The idle repaint interval must not be negative");
+		}
+		this.idleRepaintInterval = idleRepaintInterval;
+	}
 
+	/**
+	 * @return the profiler measuring the game, disabled unless the overlay is
+	 * shown; enable it to collect the numbers without the overlay
+	 */
+	public Profiler profiler() {
+		return profiler;
+	}
+	
 	@Override
 	public void init() {
 
 		paused = true;
-		fastForward = false;
 
-		// create layers
+		// create layers, the level layer is only redrawn when a level loads
+		LEVEL_LAYER = graphics().createSurfaceLayer(WIDTH, HEIGHT);
+		LEVEL_LAYER.setVisible(false);
+		graphics().rootLayer().add(LEVEL_LAYER);
+		
 		BACKGROUND_LAYER = graphics().createSurfaceLayer(WIDTH, HEIGHT);
 		graphics().rootLayer().add(BACKGROUND_LAYER);
+		
+		// the layers of the game objects if drawn as scene graph
+		SCENE_LAYER = graphics().createGroupLayer();
+		SCENE_LAYER.setVisible(false);
+		graphics().rootLayer().add(SCENE_LAYER);
 
 		SPRITE_LAYER = graphics().createSurfaceLayer(WIDTH, HEIGHT);
 		graphics().rootLayer().add(SPRITE_LAYER);
 		
+		// the profiler overlay on top of everything, toggled by F3
+		OVERLAY_LAYER = graphics().createSurfaceLayer(WIDTH, HEIGHT);
+		OVERLAY_LAYER.setVisible(false);
+		graphics().rootLayer().add(OVERLAY_LAYER);
+		
+		profilerOverlay = new ProfilerOverlay();
+		profiler.addListener(profilerOverlay);
+
+		// set Mouse and Keyboard Listener
+		mouse().setListener(this);
+		keyboard().setListener(this);
+		
+		// load the assets in the background, the game is created when they are there
+		preloader = new AssetPreloader();
+		loadingScreen = new LoadingScreen(preloader);
+		preloader.start();
+		currentUIState = EUIState.LOADING;
+	}
+	
+	/**
+	 * Creates the game and the UI components once all assets are loaded
+	 */
+	private void finishLoading() {
 		gameState = new GameState();
+		gameState.setProfiler(profiler);
+		simulation = new FixedStepSimulation(gameState, clock, 1000.0 / updateRate, MAX_STEPS_PER_FRAME, UNLIMITED_FRAME_BUDGET);
+
+		// pack the sprites into one texture before the UI components grab them
+		TextureAtlas.pack();
 
 		// initialize UI Components
 		mainMenu = new MainMenu();
@@ -91,44 +250,100 @@ public class TowerDefense implements Game, Keyboard.Listener, Mouse.Listener {
 		endScreen = new EndScreen();
 		successScreen = new SuccessScreen();
 
-		gameDrawer = new GameDrawer(gameState);
-
-		// set Mouse and Keyboard Listener
-		mouse().setListener(this);
-		keyboard().setListener(this);
+		if (sceneGraph) {
+			gameDrawer = new SceneGraphDrawer(gameState, SCENE_LAYER);
+		} else {
+			gameDrawer = new GameDrawer(gameState);
+		}
+		gameDrawer.setContinuousHealthBars(continuousHealthBars);
 
 		// set UIState
 		currentUIState = EUIState.MAIN_MENU;
 		
 		secret = new CheatModule(gameState, hud);
+		
+		preloader.release();
 	}
 
 	@Override
 	public void update(float delta) {
-		if (!paused) {
-			if (fastForward) {
-				delta *= FACTOR_DELTA_FF;			
+		if (currentUIState == EUIState.LOADING) {
+			if (preloader.isDone()) {
+				finishLoading();
 			}
+			// Show the progress
+			invalidate();
+			return;
+		}
+		
+		profiler.begin(EMetric.UPDATE);
+		if (!paused) {
+			long allocated = profiler.allocatedBytes();
+			int steps = simulation.advance(delta);
+			profiler.countAllocations(allocated, steps);
 			
-			gameState.update(delta);
-			
+			EUIState previousUIState = currentUIState;
 			switch(gameState.status()) {
 				case LOST: 	  currentUIState = EUIState.END_SCREEN; break;				
 				case WON:	  currentUIState = EUIState.SUCCESS_SCREEN; break;
 				case RUNNING: currentUIState = EUIState.GAME;       break;
 				case IDLE:     break;
-			}			
+			}
+			if (currentUIState != previousUIState) {
+				invalidate();
+			}
+		}
+		profiler.end(EMetric.UPDATE);
+		
+		if (profiler.snapshot(gameState) && OVERLAY_LAYER.visible()) {
+			invalidate();
 		}
 	}
 
+	/**
+	 * @return the time between two calls of update in ms, the simulation
+	 * collects it and runs its own steps at {@code updateRate} per second
+	 */
 	@Override
 	public int updateRate() {
-		return 24;
+		return TICK_PERIOD;
 	}
 
 	@Override
 	public void paint(float alpha) {
+		// The surfaces keep their content, a frame without changes can be skipped
+		double now = currentTime();
+		if (!needsPaint(now)) {
+			return;
+		}
+		invalid = false;
+		lastPaint = now;
+		
+		profiler.begin(EMetric.PAINT);
+		paintUIState(alpha);
+		if (OVERLAY_LAYER.visible()) {
+			profilerOverlay.draw(OVERLAY_LAYER.surface());
+		}
+		profiler.end(EMetric.PAINT);
+	}
+	
+	/**
+	 * Paints the components of the current UI state
+	 * 
+	 * @param alpha how far PlayN is between the last and the next call of update
+	 */
+	private void paintUIState(float alpha) {
+		// The in-game menu is drawn on top of the running game
+		boolean showGame = (currentUIState == EUIState.GAME || currentUIState == EUIState.INGAME_MENU)
+				&& !gameState.isLoadingLevel();
+		LEVEL_LAYER.setVisible(showGame);
+		SCENE_LAYER.setVisible(showGame);
+		
 		switch (currentUIState) {
+		case LOADING:
+			loadingScreen.draw(BACKGROUND_LAYER.surface());
+			break;
+			
 		case MAIN_MENU:
 			mainMenu.draw(BACKGROUND_LAYER.surface());
 			break;
@@ -140,7 +355,15 @@ public class TowerDefense implements Game, Keyboard.Listener, Mouse.Listener {
 
 		case GAME:
 			clearLayers();
-			gameDrawer.drawComponents(BACKGROUND_LAYER.surface(), SPRITE_LAYER.surface());
+			if (gameState.isLoadingLevel()) {
+				// The level did not arrive yet, the game goes on once it is there
+				loadingScreen.draw(BACKGROUND_LAYER.surface());
+				break;
+			}
+			// The time since the last update has not reached the simulation yet
+			float renderAlpha = (float) simulation.alpha(paused ? 0 : alpha * TICK_PERIOD);
+			gameDrawer.drawLevel(LEVEL_LAYER.surface());
+			gameDrawer.drawComponents(SPRITE_LAYER.surface(), renderAlpha);
 			hud.draw(BACKGROUND_LAYER.surface());
 			break;
 
@@ -156,6 +379,29 @@ public class TowerDefense implements Game, Keyboard.Listener, Mouse.Listener {
 		}
 	}
 
+	/**
+	 * @param now the current time in milliseconds
+	 * @return true if the frame has to be painted
+	 */
+	private boolean needsPaint(double now) {
+		if (invalid) {
+			return true;
+		}
+		// A running game moves every frame
+		if (currentUIState == EUIState.GAME && !paused) {
+			return true;
+		}
+		// Repaint now and then, e.g. to show images which finished loading
+		return idleRepaintInterval > 0 && now - lastPaint >= idleRepaintInterval;
+	}
+	
+	/**
+	 * Forces the next frame to be painted
+	 */
+	private void invalidate() {
+		invalid = true;
+	}
+
 	/**
 	 * Dispatches a Mouse or Keyboard event to the current active UI component
 	 * and receives the action response. The response will be the new state of this
@@ -169,6 +415,9 @@ public class TowerDefense implements Game, Keyboard.Listener, Mouse.Listener {
 
 		switch (currentUIState) {
 	
+			case LOADING:
+				break; // There is nothing to click on yet
+				
 			case MAIN_MENU:
 				action = dispatchToComponent(mainMenu, event);
 				break;
@@ -178,7 +427,9 @@ public class TowerDefense implements Game, Keyboard.Listener, Mouse.Listener {
 				break;
 	
 			case GAME:
-				action = dispatchToComponent(hud, event);
+				if (!gameState.isLoadingLevel()) {
+					action = dispatchToComponent(hud, event);
+				}
 				break;
 	
 			case END_SCREEN:
@@ -208,7 +459,8 @@ public class TowerDefense implements Game, Keyboard.Listener, Mouse.Listener {
 			case NEW_GAME:
 				currentUIState = EUIState.GAME;
 				gameState.reset();
-				fastForward = false;
+				simulation.reset();
+				simulation.setSpeed(ESimulationSpeed.NORMAL);
 				paused = false;
 				break;
 			case QUIT_GAME:
@@ -256,6 +508,7 @@ public class TowerDefense implements Game, Keyboard.Listener, Mouse.Listener {
 
 	@Override
 	public void onMouseDown(ButtonEvent event) {
+		invalidate();
 		dispatchEvent(event);
 	}
 
@@ -278,6 +531,11 @@ public class TowerDefense implements Game, Keyboard.Listener, Mouse.Listener {
 	 */
 	@Override
 	public void onKeyDown(Event event) {
+		invalidate();
+		if (event.key() == Key.F3) {
+			toggleProfilerOverlay();
+			return;
+		}
 		if (currentUIState == EUIState.GAME) {
 			secret.onKeyDown(event);
 			switch (event.key()) {
@@ -290,11 +548,7 @@ public class TowerDefense implements Game, Keyboard.Listener, Mouse.Listener {
 				return;
 
 			case F:
-				if (!fastForward) {
-					fastForward = true;
-				} else {
-					fastForward = false;
-				}
+				simulation.setSpeed(simulation.speed().next());
 				return;
 			default:
 				; // We are not interested in other key strokes
@@ -304,6 +558,26 @@ public class TowerDefense implements Game, Keyboard.Listener, Mouse.Listener {
 		dispatchEvent(event);
 	}
 
+	/**
+	 * Shows or hides the profiler overlay. The profiler only measures while
+	 * the overlay is shown, unless it was enabled from outside, e.g. to
+	 * export the numbers.
+	 */
+	private void toggleProfilerOverlay() {
+		boolean show = !OVERLAY_LAYER.visible();
+		OVERLAY_LAYER.setVisible(show);
+		if (show) {
+			profilerOverlay.invalidate();
+			if (!profiler.isEnabled()) {
+				profiler.setEnabled(true);
+				overlayEnabledProfiler = true;
+			}
+		} else if (overlayEnabledProfiler) {
+			profiler.setEnabled(false);
+			overlayEnabledProfiler = false;
+		}
+	}
+
 	@Override
 	public void onKeyTyped(TypedEvent event) {/* NOOP! */
 	}
@@ -1,6 +1,6 @@
 /*  Copyright (C) 2013. All rights reserved.
  *  Released under the terms of the GNU General Public License version 3 or later.
- *  
+ *
  *  Contributors:
  *  Martin Kießling, Tobias Roeding - All
  *  Jan-Christoph Klie - Refactor
@@ -15,180 +15,124 @@ import de.dhbw.td.core.util.EFlavor;
 
 /**
  * Enemies are the things tower kill for money
- * 
+ *
+ * An enemy is a handle onto a slot of an {@link EnemyPool}, which stores the
+ * actual attributes. Enemies created by the constructors live in a pool of
+ * their own, so prefer {@link EnemyPool#spawn} for more than a single enemy;
+ * the game state copies them into its shared pool.
  */
 public class Enemy implements IUpdateable {
 
-	private final int bounty;
-	private final int penalty;
-	private final int maxHealth;
-	private final double speed;
-	private final EFlavor enemyType;
+	private EnemyPool pool;
+	private int slot;
 
-	private int curHealth;
-	private boolean alive;
-	private boolean reachedEnd;
-	private Point[] waypoints;
-	private Point position;
-	private EDirection currentDirection;
-	private int pointerTocurrentWaypoint;
+	/**
+	 * Handle without enemy, bound by the pool
+	 */
+	Enemy() {
+	}
 
 	public Enemy(int maxHealth, double speed, int bounty, EFlavor enemyType, Point[] waypoints) {
-		this.maxHealth = maxHealth;
-		this.speed = speed;
-		this.bounty = bounty;
-		this.enemyType = enemyType;		
-		this.waypoints = waypoints;	
-		
-		curHealth = maxHealth;
-		alive = true;		
-		penalty = bounty * 2;		
-		currentDirection = EDirection.RIGHT;		
-		pointerTocurrentWaypoint= 0;
-		
-		position = new Point(currentWaypoint());
+		this(maxHealth, speed, bounty, enemyType, new EnemyPath(waypoints));
 	}
-	
+
+	public Enemy(int maxHealth, double speed, int bounty, EFlavor enemyType, EnemyPath path) {
+		new EnemyPool(1).attach(this, maxHealth, speed, bounty, enemyType, path);
+	}
+
 	/**
 	 * Copy constructor
 	 * @param e The enemy which attributes shall be copied
 	 */
 	public Enemy(Enemy e) {
-		this(e.maxHealth, e.speed, e.bounty, e.enemyType, e.waypoints );
-		this.position = e.position;
+		new EnemyPool(1).attachCopy(this, e);
+	}
+
+	void bind(EnemyPool pool, int slot) {
+		this.pool = pool;
+		this.slot = slot;
 	}
 
+	EnemyPool pool() { return pool; }
+	int slot() { return slot; }
+
 	@Override
 	public void update(double delta) {
-		if (alive()) {			
-			if (position.equals( currentWaypoint())) {
-				pointerTocurrentWaypoint++;
-				
-				/*
-				 * If the last waypoint is reached, teleport to
-				 * first waypoint
-				 */
-				if(isLastWaypoint() ) {
-					pointerTocurrentWaypoint = 0;
-					position.setLocation(currentWaypoint());
-					reachedEnd = true;
-				}
-				
-				adjustDirection(currentWaypoint());
-			}
-			switch (currentDirection) {
-			case DOWN:
-				handleDown(delta);
-				break;
-			case LEFT:
-				handleLeft(delta);
-				break;
-			case RIGHT:
-				handleRight(delta);
-				break;
-			case UP:
-				handleUp(delta);
-				break;
-			default:
-				throw new IllegalStateException("I should never be thrown!");
-			}
-		}
-	}
-	
-	private Point currentWaypoint() {
-		return waypoints[pointerTocurrentWaypoint];
-	}
-	
-	private boolean isLastWaypoint() {
-		return pointerTocurrentWaypoint == waypoints.length - 1;
-	}
-	
-	public boolean hasReachedEnd() {
-		return reachedEnd;
-	}
-	
-	public void breachAcknowledged() {
-		reachedEnd = false;
+		pool.update(slot, delta);
 	}
 
-	private void adjustDirection(final Point newWaypoint) {
-		if (position.x() < newWaypoint.x()) {
-			currentDirection = EDirection.RIGHT;
-		} else if (position.x() > newWaypoint.x()) {
-			currentDirection = EDirection.LEFT;
-		} else if (position.y() < newWaypoint.y()) {
-			currentDirection = EDirection.DOWN;
-		} else if (position.y() > newWaypoint.y()) {
-			currentDirection = EDirection.UP;
-		}
+	public boolean hasReachedEnd() {
+		return pool.hasReachedEnd(slot);
 	}
 
-	private int distanceMovedSince(double delta) {
-		return (int) (speed * delta / 1000);
+	public void breachAcknowledged() {
+		pool.breachAcknowledged(slot);
 	}
 
-	private void handleDown(double delta) {
-		position.translate(0, distanceMovedSince(delta));
-		if (position.y() > currentWaypoint().y()) {
-			position.setLocation(currentWaypoint());
-		}
+	public void takeDamage(int damage) {
+		pool.takeDamage(slot, damage);
 	}
 
-	private void handleLeft(double delta) {
-		position.translate(-distanceMovedSince(delta), 0);
-		if (position.x() < currentWaypoint().x()) {
-			position.setLocation(currentWaypoint());
-		}
+	/**
+	 * Moves the enemy along its path without interpolating the movement
+	 * @param distance The distance in pixel, negative values move the enemy back
+	 */
+	public void moveAlongPath(double distance) {
+		pool.moveAlongPath(slot, distance);
 	}
 
-	private void handleRight(double delta) {
-		position.translate(distanceMovedSince(delta), 0);
-		if (position.x() > currentWaypoint().x()) {
-			position.setLocation(currentWaypoint());
-		}
+	public boolean isOnScreen() {
+		return pool.isOnScreen(slot);
 	}
 
-	private void handleUp(double delta) {
-		position.translate(0, -distanceMovedSince(delta));
-		if (position.y() < currentWaypoint().y()) {
-			position.setLocation(currentWaypoint());
-		}
+	/**
+	 * Allocates a new point, prefer {@link #centerX()} and {@link #centerY()}
+	 * in code which runs every tick
+	 * @return the center of the enemy in pixel
+	 */
+	public Point center() {
+		return new Point(centerX(), centerY());
 	}
 
-	public void takeDamage(int damage) {
-		curHealth -= damage;
-		if (curHealth <= 0) {
-			die();
-		}
-	}
+	public int centerX() { return x() + TILE_SIZE / 2; }
+	public int centerY() { return y() + TILE_SIZE / 2; }
 
 	/**
-	 * Kills the enemy
+	 * @return a copy of the current position
 	 */
-	private void die() {
-		this.alive = false;
-	}
+	public Point position() { return new Point(x(), y()); }
+	public int x() { return pool.x(slot); }
+	public int y() { return pool.y(slot); }
 	
-	public boolean isOnScreen() {
-		int x = position.x;	// X position in pixel
-		int y = position.y;	// Y position in pixel
-		return x >= 0 && y >= 0 && x <= WIDTH && y <= HEIGHT;
-	}
+	/**
+	 * @param alpha how far the game is between the last and the next update, in [0, 1]
+	 * @return the x coordinate to draw the enemy at
+	 */
+	public float renderX(float alpha) { return pool.renderX(slot, alpha); }
 	
-	public Point center() {
-		int half = TILE_SIZE / 2;
-		int centerx = position.x + half;
-		int centery = position.y + half;
-		return new Point(centerx, centery);
-	}
-
-	public Point position() { return position;	}
-	public int curHealth() { return curHealth; }
-	public double speed() { return speed;	}
-	public int maxHealth() { return maxHealth; }
-	public boolean alive() { return alive; }
-	public int bounty() { return bounty; }
-	public int penalty() { return penalty;	 }
-	public EFlavor enemyType() { return enemyType; }
+	/**
+	 * @param alpha how far the game is between the last and the next update, in [0, 1]
+	 * @return the y coordinate to draw the enemy at
+	 */
+	public float renderY(float alpha) { return pool.renderY(slot, alpha); }
+	public int curHealth() { return pool.curHealth(slot); }
+	public double speed() { return pool.speed(slot); }
+	public double distance() { return pool.distance(slot); }
+	public int maxHealth() { return pool.maxHealth(slot); }
+	
+	/**
+	 * @return the current health divided by the maximum health, in [0, 1]
+	 */
+	public float relativeHealth() { return pool.relativeHealth(slot); }
+	
+	/**
+	 * @return the index of the health bar image to show, see {@link HealthBar}
+	 */
+	public int healthState() { return pool.healthState(slot); }
+	public boolean alive() { return pool.alive(slot); }
+	public int bounty() { return pool.bounty(slot); }
+	public int penalty() { return pool.penalty(slot); }
+	public EDirection direction() { return pool.direction(slot); }
+	public EFlavor enemyType() { return pool.enemyType(slot); }
 
 }
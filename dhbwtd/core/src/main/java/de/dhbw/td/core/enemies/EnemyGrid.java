@@ -0,0 +1,181 @@
+/*  Copyright (C) 2013. All rights reserved.
+ *  Released under the terms of the GNU General Public License version 3 or later.
+ *
+ *  Contributors:
+ *  Jan-Christoph Klie - All
+ */
+
+package de.dhbw.td.core.enemies;
+
+import static de.dhbw.td.core.util.GameConstants.COLS;
+import static de.dhbw.td.core.util.GameConstants.ROWS;
+import static de.dhbw.td.core.util.GameConstants.toTile;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Spatial index which buckets the enemies currently on the screen by the tile
+ * they are standing on. Towers use it to look only at the tiles their range
+ * covers instead of scanning every enemy of the wave.
+ *
+ * The buckets are singly linked lists stored in plain int arrays, so
+ * rebuilding the grid each tick does not allocate once it has grown to the
+ * size of the largest wave.
+ */
+public class EnemyGrid {
+
+	private static final int NONE = -1;
+
+	private final int rows;
+	private final int cols;
+
+	/** Index of the first entry for every cell, NONE if the cell is empty */
+	private final int[] cellHead;
+	/** Index of the last entry for every cell, used to keep insertion order */
+	private final int[] cellTail;
+
+	/** Index of the next entry in the same cell */
+	private int[] next;
+	private Enemy[] entries;
+	private int size;
+
+	public EnemyGrid() {
+		this(ROWS, COLS);
+	}
+
+	public EnemyGrid(int rows, int cols) {
+		this.rows = rows;
+		this.cols = cols;
+
+		cellHead = new int[rows * cols];
+		cellTail = new int[rows * cols];
+		next = new int[64];
+		entries = new Enemy[64];
+
+		clear();
+	}
+
+	/**
+	 * Removes all enemies from the grid
+	 */
+	public void clear() {
+		Arrays.fill(cellHead, NONE);
+		Arrays.fill(entries, 0, size, null);
+		size = 0;
+	}
+
+	/**
+	 * Clears the grid and inserts all living enemies which are on the screen.
+	 * The iteration order of the given enemies is remembered, so queries
+	 * prefer enemies which come first - like the plain list scan did.
+	 *
+	 * @param enemies the enemies to index, should be random access
+	 */
+	public void rebuild(List<Enemy> enemies) {
+		clear();
+		for (int i = 0; i < enemies.size(); i++) {
+			Enemy e = enemies.get(i);
+			if (e.alive() && e.isOnScreen()) {
+				insert(e);
+			}
+		}
+	}
+
+	/**
+	 * Adds a single enemy to the cell it is currently standing on
+	 *
+	 * @param e the enemy to add
+	 */
+	public void insert(Enemy e) {
+		int cell = cellOf(toTile(e.x()), toTile(e.y()));
+		if (cell == NONE) {
+			return;
+		}
+
+		ensureCapacity(size + 1);
+		int index = size++;
+		entries[index] = e;
+		next[index] = NONE;
+
+		if (cellHead[cell] == NONE) {
+			cellHead[cell] = index;
+		} else {
+			next[cellTail[cell]] = index;
+		}
+		cellTail[cell] = index;
+	}
+
+	/**
+	 * Returns the enemy which was inserted first among all living enemies
+	 * within the given distance of the given point
+	 *
+	 * @param x The x coordinate in pixel
+	 * @param y The y coordinate in pixel
+	 * @param range The maximum distance in pixel
+	 * @return The enemy or null if there is none in range
+	 */
+	public Enemy firstInRange(int x, int y, int range) {
+		int minCol = Math.max(toTile(Math.max(x - range, 0)), 0);
+		int maxCol = Math.min(toTile(x + range), cols - 1);
+		int minRow = Math.max(toTile(Math.max(y - range, 0)), 0);
+		int maxRow = Math.min(toTile(y + range), rows - 1);
+
+		long rangeSquared = (long) range * range;
+		int best = NONE;
+
+		for (int row = minRow; row <= maxRow; row++) {
+			for (int col = minCol; col <= maxCol; col++) {
+				/*
+				 * Entries of a cell are in insertion order, so the first hit
+				 * is the best candidate of this cell
+				 */
+				for (int i = cellHead[row * cols + col]; i != NONE; i = next[i]) {
+					if (best != NONE && i > best) {
+						break;
+					}
+					Enemy e = entries[i];
+					if (e.alive() && distanceSquared(e, x, y) <= rangeSquared) {
+						best = i;
+						break;
+					}
+				}
+			}
+		}
+
+		return best == NONE ? null : entries[best];
+	}
+
+	private static long distanceSquared(Enemy e, int x, int y) {
+		long dx = e.x() - x;
+		long dy = e.y() - y;
+		return dx * dx + dy * dy;
+	}
+
+	/**
+	 * An enemy standing exactly on the right or bottom border is still on
+	 * the screen, so that border belongs to the last column or row
+	 */
+	private int cellOf(int col, int row) {
+		if (col == cols) {
+			col = cols - 1;
+		}
+		if (row == rows) {
+			row = rows - 1;
+		}
+		if (col < 0 || row < 0 || col >= cols || row >= rows) {
+			return NONE;
+		}
+		return row * cols + col;
+	}
+
+	private void ensureCapacity(int capacity) {
+		if (capacity > entries.length) {
+			int newLength = Math.max(capacity, entries.length * 2);
+			entries = Arrays.copyOf(entries, newLength);
+			next = Arrays.copyOf(next, newLength);
+		}
+	}
+
+	public int size() { return size; }
+}
@@ -0,0 +1,143 @@
+/*  Copyright (C) 2013. All rights reserved.
+ *  Released under the terms of the GNU General Public License version 3 or later.
+ *
+ *  Contributors:
+ *  Jan-Christoph Klie - All
+ */
+
+package de.dhbw.td.core.enemies;
+
+import pythagoras.i.Point;
+
+/**
+ * Immutable list of waypoints the enemies walk along, stored as plain
+ * coordinate arrays. All enemies of a level share a single instance.
+ *
+ * Besides the waypoints the path holds the cumulative arc length up to every
+ * waypoint, so an enemy only has to remember how far it has walked. Its
+ * position is looked up from that distance; distances below zero lie
+ * before the first waypoint, on the extension of the first segment.
+ */
+public class EnemyPath {
+
+	private final int[] x;
+	private final int[] y;
+
+	/** Distance from the first waypoint to waypoint i along the path */
+	private final double[] arcLength;
+
+	/**
+	 * @param waypoints the waypoints in pixel, will be copied
+	 */
+	public EnemyPath(Point[] waypoints) {
+		if (waypoints.length < 2) {
+			throw new IllegalArgumentException("A path needs at least two waypoints");
+		}
+
+		x = new int[waypoints.length];
+		y = new int[waypoints.length];
+		arcLength = new double[waypoints.length];
+
+		for (int i = 0; i < waypoints.length; i++) {
+			x[i] = waypoints[i].x;
+			y[i] = waypoints[i].y;
+			if (i > 0) {
+				double dx = x[i] - x[i - 1];
+				double dy = y[i] - y[i - 1];
+				arcLength[i] = arcLength[i - 1] + Math.sqrt(dx * dx + dy * dy);
+			}
+		}
+	}
+
+	/**
+	 * Finds the segment the given distance lies on. Enemies move forward in
+	 * small steps, so the search starts at the segment of the last lookup
+	 * and usually ends right there.
+	 *
+	 * @param distance the distance along the path, in [0, length()]
+	 * @param hint the segment of the last lookup
+	 * @return the index of the waypoint the segment starts at
+	 */
+	public int segmentAt(double distance, int hint) {
+		int last = x.length - 2;
+		int segment = Math.max(0, Math.min(hint, last));
+
+		if (distance < arcLength[segment]) {
+			return binarySearch(distance);
+		}
+		while (segment < last && distance >= arcLength[segment + 1]) {
+			segment++;
+		}
+		return segment;
+	}
+
+	/**
+	 * @return the last segment whose start lies at or before the distance
+	 */
+	private int binarySearch(double distance) {
+		int low = 0;
+		int high = x.length - 2;
+		while (low < high) {
+			int mid = (low + high + 1) >>> 1;
+			if (arcLength[mid] <= distance) {
+				low = mid;
+			} else {
+				high = mid - 1;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * @return the x coordinate at the given distance on the given segment
+	 */
+	public double xAt(int segment, double distance) {
+		return x[segment] + (x[segment + 1] - x[segment]) * fraction(segment, distance);
+	}
+
+	/**
+	 * @return the y coordinate at the given distance on the given segment
+	 */
+	public double yAt(int segment, double distance) {
+		return y[segment] + (y[segment + 1] - y[segment]) * fraction(segment, distance);
+	}
+
+	private double fraction(int segment, double distance) {
+		double segmentLength = arcLength[segment + 1] - arcLength[segment];
+		if (segmentLength == 0) {
+			return 0;
+		}
+		return (distance - arcLength[segment]) / segmentLength;
+	}
+
+	/**
+	 * @return the direction an enemy on the given segment is walking in
+	 */
+	public EDirection direction(int segment) {
+		int dx = x[segment + 1] - x[segment];
+		int dy = y[segment + 1] - y[segment];
+		if (Math.abs(dx) >= Math.abs(dy)) {
+			return dx < 0 ? EDirection.LEFT : EDirection.RIGHT;
+		}
+		return dy < 0 ? EDirection.UP : EDirection.DOWN;
+	}
+
+	/**
+	 * @return a copy of the waypoints of this path
+	 */
+	public Point[] waypoints() {
+		Point[] waypoints = new Point[x.length];
+		for (int i = 0; i < x.length; i++) {
+			waypoints[i] = new Point(x[i], y[i]);
+		}
+		return waypoints;
+	}
+
+	/**
+	 * @return the length of the whole path in pixel
+	 */
+	public double length() { return arcLength[arcLength.length - 1]; }
+	public int waypointCount() { return x.length; }
+	public int x(int waypoint) { return x[waypoint]; }
+	public int y(int waypoint) { return y[waypoint]; }
+}
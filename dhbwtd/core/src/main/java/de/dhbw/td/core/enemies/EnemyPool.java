@@ -0,0 +1,484 @@
+/*  Copyright (C) 2013. All rights reserved.
+ *  Released under the terms of the GNU General Public License version 3 or later.
+ *
+ *  Contributors:
+ *  Jan-Christoph Klie - All
+ */
+
+package de.dhbw.td.core.enemies;
+
+import static de.dhbw.td.core.util.GameConstants.HEIGHT;
+import static de.dhbw.td.core.util.GameConstants.WIDTH;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+import de.dhbw.td.core.util.EFlavor;
+
+/**
+ * Structure of arrays storage for enemies. Every attribute of an enemy lives
+ * in a primitive array indexed by the slot of the enemy, so updating all
+ * enemies is a linear sweep over a few arrays instead of a walk over objects
+ * spread across the heap.
+ *
+ * The {@link Enemy} objects handed out by the pool are lightweight handles
+ * onto a slot. Slots are only compacted at the end of a tick (see
+ * {@link #removeLater(int)}), handles follow their enemy when it is moved.
+ * A handle whose enemy is removed from the pool keeps its last state in the
+ * graveyard of the pool, so projectiles and other holders never see a
+ * foreign enemy. The graveyard holds the last {@link #GRAVEYARD_SIZE}
+ * removed enemies, handles of enemies removed before only tell that their
+ * enemy is dead.
+ *
+ * An enemy is placed by the distance it has walked along its path, the
+ * position is looked up from the arc length table of the {@link EnemyPath}.
+ * Besides the current position the pool remembers the position before the
+ * last update, so the drawer can interpolate between the two.
+ */
+public class EnemyPool extends AbstractList<Enemy> implements RandomAccess {
+
+	private static final int INITIAL_CAPACITY = 16;
+
+	private static final EFlavor[] FLAVORS = EFlavor.values();
+
+	/** How many removed enemies keep their last state */
+	public static final int GRAVEYARD_SIZE = 256;
+
+	/** The slot of the graveyard which stands in for enemies removed long ago */
+	private static final int EXPIRED = 0;
+
+	private int size;
+	private int removedCount;
+
+	private Enemy[] handles;
+	private EnemyPath[] path;
+
+	private double[] distance;
+	private double[] x;
+	private double[] y;
+	private double[] prevX;
+	private double[] prevY;
+	private int[] curHealth;
+	private int[] maxHealth;
+	private float[] relativeHealth;
+	private byte[] healthState;
+	private int[] bounty;
+	private int[] segment;
+	private double[] speed;
+	private byte[] flavor;
+	private boolean[] alive;
+	private boolean[] reachedEnd;
+	private boolean[] removed;
+
+	/** Handles created ahead by {@link #reserve(int)}, never bound to an enemy */
+	private Enemy[] spareHandles = new Enemy[0];
+	private int spareCount;
+
+	/** Removed enemies, created when the first enemy is removed */
+	private EnemyPool graveyard;
+	/** The next slot of the graveyard to reuse once it is full */
+	private int graveyardNext;
+
+	public EnemyPool() {
+		this(INITIAL_CAPACITY);
+	}
+
+	public EnemyPool(int capacity) {
+		allocate(Math.max(capacity, 1));
+	}
+
+	private void allocate(int capacity) {
+		handles = new Enemy[capacity];
+		path = new EnemyPath[capacity];
+		distance = new double[capacity];
+		x = new double[capacity];
+		y = new double[capacity];
+		prevX = new double[capacity];
+		prevY = new double[capacity];
+		curHealth = new int[capacity];
+		maxHealth = new int[capacity];
+		relativeHealth = new float[capacity];
+		healthState = new byte[capacity];
+		bounty = new int[capacity];
+		segment = new int[capacity];
+		speed = new double[capacity];
+		flavor = new byte[capacity];
+		alive = new boolean[capacity];
+		reachedEnd = new boolean[capacity];
+		removed = new boolean[capacity];
+	}
+
+	private void ensureCapacity(int capacity) {
+		if (capacity <= handles.length) {
+			return;
+		}
+		int n = Math.max(capacity, handles.length * 2);
+		handles = Arrays.copyOf(handles, n);
+		path = Arrays.copyOf(path, n);
+		distance = Arrays.copyOf(distance, n);
+		x = Arrays.copyOf(x, n);
+		y = Arrays.copyOf(y, n);
+		prevX = Arrays.copyOf(prevX, n);
+		prevY = Arrays.copyOf(prevY, n);
+		curHealth = Arrays.copyOf(curHealth, n);
+		maxHealth = Arrays.copyOf(maxHealth, n);
+		relativeHealth = Arrays.copyOf(relativeHealth, n);
+		healthState = Arrays.copyOf(healthState, n);
+		bounty = Arrays.copyOf(bounty, n);
+		segment = Arrays.copyOf(segment, n);
+		speed = Arrays.copyOf(speed, n);
+		flavor = Arrays.copyOf(flavor, n);
+		alive = Arrays.copyOf(alive, n);
+		reachedEnd = Arrays.copyOf(reachedEnd, n);
+		removed = Arrays.copyOf(removed, n);
+	}
+
+	/**
+	 * Creates a new enemy at the first waypoint of the given path
+	 *
+	 * @return the handle of the new enemy
+	 */
+	public Enemy spawn(int maxHealth, double speed, int bounty, EFlavor enemyType, EnemyPath path) {
+		Enemy handle = newHandle();
+		attach(handle, maxHealth, speed, bounty, enemyType, path);
+		return handle;
+	}
+
+	/**
+	 * Copies the given enemy - which may live in another pool - into this pool
+	 *
+	 * @param e the enemy to copy
+	 * @return the handle of the copy
+	 */
+	public Enemy spawnCopy(Enemy e) {
+		Enemy handle = newHandle();
+		attachCopy(handle, e);
+		return handle;
+	}
+
+	/**
+	 * Makes room for the given number of enemies and creates their handles
+	 * ahead, so spawning them later allocates nothing. Call it when a wave
+	 * starts, not while the enemies enter the game.
+	 *
+	 * @param count the number of enemies which will be spawned
+	 */
+	public void reserve(int count) {
+		ensureCapacity(size + count);
+		if (spareHandles.length < count) {
+			spareHandles = Arrays.copyOf(spareHandles, count);
+		}
+		while (spareCount < count) {
+			spareHandles[spareCount++] = new Enemy();
+		}
+	}
+
+	/**
+	 * Handles are never reused, a removed enemy keeps its handle
+	 */
+	private Enemy newHandle() {
+		if (spareCount == 0) {
+			return new Enemy();
+		}
+		Enemy handle = spareHandles[--spareCount];
+		spareHandles[spareCount] = null;
+		return handle;
+	}
+
+	void attach(Enemy handle, int maxHealth, double speed, int bounty, EFlavor enemyType, EnemyPath path) {
+		int i = newSlot(handle);
+		this.path[i] = path;
+		this.maxHealth[i] = maxHealth;
+		this.curHealth[i] = maxHealth;
+		updateHealth(i);
+		this.speed[i] = speed;
+		this.bounty[i] = bounty;
+		this.flavor[i] = (byte) enemyType.ordinal();
+		this.alive[i] = true;
+		this.reachedEnd[i] = false;
+		this.distance[i] = 0;
+		this.segment[i] = 0;
+		this.x[i] = prevX[i] = path.x(0);
+		this.y[i] = prevY[i] = path.y(0);
+	}
+
+	void attachCopy(Enemy handle, Enemy e) {
+		EnemyPool src = e.pool();
+		int s = e.slot();
+		attach(handle, src.maxHealth[s], src.speed[s], src.bounty[s], FLAVORS[src.flavor[s]], src.path[s]);
+		int i = handle.slot();
+		distance[i] = src.distance[s];
+		segment[i] = src.segment[s];
+		x[i] = prevX[i] = src.x[s];
+		y[i] = prevY[i] = src.y[s];
+	}
+
+	private int newSlot(Enemy handle) {
+		ensureCapacity(size + 1);
+		int i = size++;
+		handles[i] = handle;
+		removed[i] = false;
+		handle.bind(this, i);
+		modCount++;
+		return i;
+	}
+
+	/**
+	 * Copies all attributes from one slot of another pool into a slot of
+	 * this pool
+	 */
+	private void copySlot(EnemyPool src, int s, int i) {
+		path[i] = src.path[s];
+		distance[i] = src.distance[s];
+		x[i] = src.x[s];
+		y[i] = src.y[s];
+		prevX[i] = src.prevX[s];
+		prevY[i] = src.prevY[s];
+		curHealth[i] = src.curHealth[s];
+		maxHealth[i] = src.maxHealth[s];
+		relativeHealth[i] = src.relativeHealth[s];
+		healthState[i] = src.healthState[s];
+		bounty[i] = src.bounty[s];
+		segment[i] = src.segment[s];
+		speed[i] = src.speed[s];
+		flavor[i] = src.flavor[s];
+		alive[i] = src.alive[s];
+		reachedEnd[i] = src.reachedEnd[s];
+	}
+
+	/**
+	 * Moves the enemy of the given slot into the graveyard, so the handle
+	 * stays valid after the slot has been reused. Once the graveyard is full
+	 * the enemy removed first makes room, its handle is bound to a slot
+	 * which is never alive. Nothing is allocated but the graveyard itself.
+	 */
+	private void detach(int i) {
+		Enemy handle = handles[i];
+		if (graveyard == null) {
+			graveyard = new EnemyPool(GRAVEYARD_SIZE + 1);
+			graveyard.attach(new Enemy(), 0, 0, 0, FLAVORS[0], path[i]);
+			graveyard.alive[EXPIRED] = false;
+		}
+
+		int slot;
+		if (graveyard.size <= GRAVEYARD_SIZE) {
+			slot = graveyard.newSlot(handle);
+		} else {
+			slot = EXPIRED + 1 + graveyardNext;
+			graveyardNext = (graveyardNext + 1) % GRAVEYARD_SIZE;
+			graveyard.handles[slot].bind(graveyard, EXPIRED);
+			graveyard.handles[slot] = handle;
+			handle.bind(graveyard, slot);
+		}
+		graveyard.copySlot(this, i, slot);
+		handles[i] = null;
+		path[i] = null;
+	}
+
+	/*
+	 * Simulation
+	 */
+
+	/**
+	 * Moves all living enemies along their path
+	 *
+	 * @param delta the time passed since the last update in ms
+	 */
+	public void update(double delta) {
+		for (int i = 0; i < size; i++) {
+			update(i, delta);
+		}
+	}
+
+	/**
+	 * Moves the enemy in the given slot along its path. The distance walked
+	 * is kept with sub-pixel precision, so slow enemies move even at high
+	 * update rates.
+	 *
+	 * @param i the slot
+	 * @param delta the time passed since the last update in ms
+	 */
+	public void update(int i, double delta) {
+		if (!alive[i]) {
+			return;
+		}
+
+		prevX[i] = x[i];
+		prevY[i] = y[i];
+
+		distance[i] += speed[i] * delta / 1000;
+
+		/*
+		 * If the end of the path is reached, teleport to
+		 * the first waypoint
+		 */
+		double length = path[i].length();
+		if (distance[i] >= length) {
+			distance[i] = length > 0 ? distance[i] % length : 0;
+			segment[i] = 0;
+			reachedEnd[i] = true;
+			place(i);
+			prevX[i] = x[i];
+			prevY[i] = y[i];
+		} else {
+			place(i);
+		}
+	}
+
+	/**
+	 * Looks up the position of the enemy in the given slot from the
+	 * distance it has walked
+	 */
+	private void place(int i) {
+		EnemyPath p = path[i];
+		double d = distance[i];
+		int s = d < 0 ? 0 : p.segmentAt(d, segment[i]);
+		segment[i] = s;
+		x[i] = p.xAt(s, d);
+		y[i] = p.yAt(s, d);
+	}
+
+	public void takeDamage(int i, int damage) {
+		curHealth[i] -= damage;
+		if (curHealth[i] <= 0) {
+			alive[i] = false;
+		}
+		updateHealth(i);
+	}
+
+	/**
+	 * Computes what the health bar shows, so drawing the enemies does not
+	 * have to in every frame
+	 */
+	private void updateHealth(int i) {
+		double relative = maxHealth[i] > 0 ? (double) curHealth[i] / maxHealth[i] : 0;
+		relativeHealth[i] = (float) Math.max(0, relative);
+		healthState[i] = (byte) HealthBar.healthState(relative);
+	}
+
+	/**
+	 * Moves the enemy along its path without interpolating the movement.
+	 * A negative distance moves the enemy back, beyond the first waypoint
+	 * it keeps going in the direction of the first segment.
+	 *
+	 * @param i the slot
+	 * @param distance the distance in pixel
+	 */
+	public void moveAlongPath(int i, double distance) {
+		this.distance[i] += distance;
+		place(i);
+		prevX[i] = x[i];
+		prevY[i] = y[i];
+	}
+
+	public boolean isOnScreen(int i) {
+		return x[i] >= 0 && y[i] >= 0 && x[i] <= WIDTH && y[i] <= HEIGHT;
+	}
+
+	public void breachAcknowledged(int i) {
+		reachedEnd[i] = false;
+	}
+
+	/*
+	 * Removal
+	 */
+
+	/**
+	 * Flags the enemy in the given slot for removal. It stays in the pool
+	 * until {@link #compact()} is called, so slots do not move during a tick.
+	 *
+	 * @param i the slot
+	 */
+	public void removeLater(int i) {
+		checkIndex(i);
+		if (!removed[i]) {
+			removed[i] = true;
+			removedCount++;
+		}
+	}
+
+	/**
+	 * Drops all enemies flagged by {@link #removeLater(int)} and keeps the
+	 * order of the remaining ones
+	 */
+	public void compact() {
+		if (removedCount == 0) {
+			return;
+		}
+
+		int target = 0;
+		for (int i = 0; i < size; i++) {
+			if (removed[i]) {
+				detach(i);
+				continue;
+			}
+			if (target != i) {
+				copySlot(this, i, target);
+				handles[target] = handles[i];
+				handles[target].bind(this, target);
+			}
+			target++;
+		}
+		Arrays.fill(handles, target, size, null);
+		Arrays.fill(path, target, size, null);
+		Arrays.fill(removed, 0, size, false);
+
+		size = target;
+		removedCount = 0;
+		modCount++;
+	}
+
+	@Override
+	public void clear() {
+		for (int i = 0; i < size; i++) {
+			detach(i);
+		}
+		Arrays.fill(removed, 0, size, false);
+		size = 0;
+		removedCount = 0;
+		modCount++;
+	}
+
+	/*
+	 * List view
+	 */
+
+	@Override
+	public Enemy get(int i) {
+		checkIndex(i);
+		return handles[i];
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	private void checkIndex(int i) {
+		if (i < 0 || i >= size) {
+			throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + size);
+		}
+	}
+
+	/*
+	 * Slot accessors
+	 */
+
+	public int x(int i) { return (int) Math.floor(x[i]); }
+	public int y(int i) { return (int) Math.floor(y[i]); }
+	public float renderX(int i, float alpha) { return (float) (prevX[i] + (x[i] - prevX[i]) * alpha); }
+	public float renderY(int i, float alpha) { return (float) (prevY[i] + (y[i] - prevY[i]) * alpha); }
+	public double distance(int i) { return distance[i]; }
+	public int curHealth(int i) { return curHealth[i]; }
+	public int maxHealth(int i) { return maxHealth[i]; }
+	public float relativeHealth(int i) { return relativeHealth[i]; }
+	public int healthState(int i) { return healthState[i]; }
+	public int bounty(int i) { return bounty[i]; }
+	public int penalty(int i) { return bounty[i] * 2; }
+	public double speed(int i) { return speed[i]; }
+	public boolean alive(int i) { return alive[i]; }
+	public boolean hasReachedEnd(int i) { return reachedEnd[i]; }
+	public EDirection direction(int i) { return path[i].direction(segment[i]); }
+	public EFlavor enemyType(int i) { return FLAVORS[flavor[i]]; }
+}
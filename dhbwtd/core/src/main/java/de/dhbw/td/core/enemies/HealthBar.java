@@ -8,53 +8,38 @@
 
 package de.dhbw.td.core.enemies;
 
-import static playn.core.PlayN.assets;
 import playn.core.Image;
+import de.dhbw.td.core.resources.EHealthBarImage;
 
 /**
  * Utility class which returns the right health bar image for a given life percentage
  */
 public class HealthBar {
 	
-	private static final Image[] HEALTHBAR_IMAGES;	
-	private static final int HEALTH_STATE_COUNT = 10;
+	public static final int HEALTH_STATE_COUNT = 10;
 	
-	static {
-		HEALTHBAR_IMAGES = new Image[HEALTH_STATE_COUNT];
-		
-		for (EHealthBarState e : EHealthBarState.values()) {
-			String pathToImage = e.getPathToImage();
-			HEALTHBAR_IMAGES[e.ordinal()] = assets().getImageSync(pathToImage);
-		}		
-	}			
-	
-	private HealthBar() {
-
+	/**
+	 * Holds the images apart, so the health state can be computed without
+	 * loading any image, e.g. in a headless game
+	 */
+	private static class Images {
+		/** The health bars from ten to a hundred percent, there is no bar for zero */
+		static final EHealthBarImage[] HEALTHBAR_IMAGES = {
+			EHealthBarImage.IMAGE_HEALTHBAR_10,
+			EHealthBarImage.IMAGE_HEALTHBAR_20,
+			EHealthBarImage.IMAGE_HEALTHBAR_30,
+			EHealthBarImage.IMAGE_HEALTHBAR_40,
+			EHealthBarImage.IMAGE_HEALTHBAR_50,
+			EHealthBarImage.IMAGE_HEALTHBAR_60,
+			EHealthBarImage.IMAGE_HEALTHBAR_70,
+			EHealthBarImage.IMAGE_HEALTHBAR_80,
+			EHealthBarImage.IMAGE_HEALTHBAR_90,
+			EHealthBarImage.IMAGE_HEALTHBAR_100
+		};
 	}
 	
-	public enum EHealthBarState {
-		TEN("10.png"), 
-		TWENTY("20.png"), 
-		THIRTY("30.png"), 
-		FOURTY("40.png"), 
-		FIFTY("50.png"), 
-		SIXTY("60.png"), 
-		SEVENTY("70.png"), 
-		EIGHTY("80.png"), 
-		NINETY("90.png"),
-		HUNDRED("100.png");
-		
-		private static final String pathToHealthBars = "images/";
+	private HealthBar() {
 
-		public final String resourceName;
-		
-		EHealthBarState(String resourceName) {
-			this.resourceName = resourceName;
-		}		
-		
-		private String getPathToImage() {
-			return pathToHealthBars + resourceName;
-		}
 	}
 	
 	/**
@@ -63,8 +48,23 @@ public class HealthBar {
 	 * @return
 	 */
 	public static Image getHealthStatus(double relativeHealth) {		
-		int index = (int) Math.min(relativeHealth * 10, HEALTH_STATE_COUNT - 1);
-		return HEALTHBAR_IMAGES[index];
+		return getHealthImage(healthState(relativeHealth));
+	}
+	
+	/**
+	 * @param relativeHealth currentHealth/maxHealth, a double in [0, 1]
+	 * @return the index of the health bar image, in [0, HEALTH_STATE_COUNT)
+	 */
+	public static int healthState(double relativeHealth) {
+		return (int) Math.max(0, Math.min(relativeHealth * 10, HEALTH_STATE_COUNT - 1));
+	}
+	
+	/**
+	 * @param healthState the index of the health bar image
+	 * @return the health bar image
+	 */
+	public static Image getHealthImage(int healthState) {
+		return Images.HEALTHBAR_IMAGES[healthState].image;
 	}
 
 }
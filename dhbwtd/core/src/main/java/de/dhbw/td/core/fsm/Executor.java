@@ -30,13 +30,14 @@ public class Executor {
 	
 	private GameState gameState;
 	private FiniteStateMachine<EUserAction> fsm;
-	private TowerStats stats = TowerStats.getInstance();
+	private TowerStats stats;
 	private EFlavor flavor;
 	private int x;
 	private int y;
 	
 	public Executor(GameState gameState) {
 		this.gameState = gameState;
+		this.stats = gameState.towerStats();
 		EUserAction[] possibleStates = EUserAction.values();
 		fsm = new FiniteStateMachine<EUserAction>(possibleStates, EUserAction.NONE);
 		
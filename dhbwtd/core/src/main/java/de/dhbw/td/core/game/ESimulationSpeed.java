@@ -0,0 +1,39 @@
+/*  Copyright (C) 2013. All rights reserved.
+ *  Released under the terms of the GNU General Public License version 3 or later.
+ *  
+ *  Contributors:
+ *  Jan-Christoph Klie - All
+ */
+
+package de.dhbw.td.core.game;
+
+import static de.dhbw.td.core.util.GameConstants.FACTOR_DELTA_FF;
+
+/**
+ * The speeds the simulation can run at. UNLIMITED runs as many simulation
+ * steps per frame as fit into the frame budget.
+ */
+public enum ESimulationSpeed {
+	
+	NORMAL(1),
+	FAST(FACTOR_DELTA_FF),
+	FASTER(8),
+	FASTEST(16),
+	UNLIMITED(0);
+	
+	public final int factor;
+	
+	ESimulationSpeed(int factor) {
+		this.factor = factor;
+	}
+	
+	/**
+	 * @return the speed to switch to when fast forward is pressed again
+	 */
+	public ESimulationSpeed next() {
+		ESimulationSpeed[] speeds = values();
+		return speeds[(ordinal() + 1) % speeds.length];
+	}
+	
+	public boolean isUnlimited() { return factor == 0; }
+}
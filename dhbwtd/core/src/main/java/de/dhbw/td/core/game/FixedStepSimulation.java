@@ -0,0 +1,127 @@
+/*  Copyright (C) 2013. All rights reserved.
+ *  Released under the terms of the GNU General Public License version 3 or later.
+ *  
+ *  Contributors:
+ *  Jan-Christoph Klie - All
+ */
+
+package de.dhbw.td.core.game;
+
+import de.dhbw.td.core.profiling.IClock;
+
+/**
+ * Runs a simulation in fixed time steps, no matter how long a frame took or
+ * how fast the game is running. Frame time scaled by the simulation speed
+ * is collected in an accumulator and spent in steps of the same length, so
+ * fast forward runs more steps per frame instead of bigger ones and ends up
+ * exactly where the game would have been at normal speed.
+ * 
+ * To keep a slow device from falling further and further behind, at most
+ * {@code maxStepsPerFrame} steps are run per frame; time beyond that is
+ * dropped and the game slows down instead.
+ * 
+ * At UNLIMITED speed steps are run until the frame budget is spent, as
+ * measured by the given clock.
+ */
+public class FixedStepSimulation {
+	
+	private final IUpdateable simulation;
+	private final IClock clock;
+	private final double step;
+	private final int maxStepsPerFrame;
+	private final double frameBudget;
+	
+	private ESimulationSpeed speed;
+	private double accumulator;
+	
+	/**
+	 * @param simulation the simulation to advance
+	 * @param clock the clock the frame budget is measured with
+	 * @param step the length of a single step in ms
+	 * @param maxStepsPerFrame the maximum number of steps run in one frame
+	 * @param frameBudget the time in ms an UNLIMITED frame may spend simulating
+	 */
+	public FixedStepSimulation(IUpdateable simulation, IClock clock, double step, int maxStepsPerFrame, double frameBudget) {
+		if (step <= 0 || maxStepsPerFrame < 1) {
+			throw new IllegalArgumentException("Step length and steps per frame have to be positive");
+		}
+		this.simulation = simulation;
+		this.clock = clock;
+		this.step = step;
+		this.maxStepsPerFrame = maxStepsPerFrame;
+		this.frameBudget = frameBudget;
+		
+		speed = ESimulationSpeed.NORMAL;
+	}
+	
+	/**
+	 * Advances the simulation by the time passed since the last frame
+	 * 
+	 * @param delta the frame time in ms
+	 * @return the number of steps which were run
+	 */
+	public int advance(double delta) {
+		if (speed.isUnlimited()) {
+			return advanceUnlimited();
+		}
+		
+		accumulator += delta * speed.factor;
+		
+		int steps = 0;
+		while (accumulator >= step && steps < maxStepsPerFrame) {
+			simulation.update(step);
+			accumulator -= step;
+			steps++;
+		}
+		
+		// We are too slow to catch up, drop the rest instead of piling it up
+		if (accumulator >= step) {
+			accumulator = accumulator % step;
+		}
+		return steps;
+	}
+	
+	private int advanceUnlimited() {
+		double start = clock.now();
+		int steps = 0;
+		do {
+			simulation.update(step);
+			steps++;
+		} while (clock.now() - start < frameBudget);
+		accumulator = 0;
+		return steps;
+	}
+	
+	/**
+	 * Forgets all collected time, e.g. when a new game is started
+	 */
+	public void reset() {
+		accumulator = 0;
+	}
+	
+	/**
+	 * @return how far the simulation is into the next step, in [0, 1)
+	 */
+	public double alpha() {
+		return accumulator / step;
+	}
+	
+	/**
+	 * Tells how far the simulation is into the next step at a moment between
+	 * two frames, used to interpolate the drawing
+	 * 
+	 * @param pending the frame time in ms which passed but was not advanced yet
+	 * @return how far the simulation is into the next step, in [0, 1];
+	 * always 1 at UNLIMITED speed, which has no steps to interpolate between
+	 */
+	public double alpha(double pending) {
+		if (speed.isUnlimited()) {
+			return 1;
+		}
+		return Math.min((accumulator + pending * speed.factor) / step, 1);
+	}
+	
+	public void setSpeed(ESimulationSpeed speed) { this.speed = speed; }
+	public ESimulationSpeed speed() { return speed; }
+	public double step() { return step; }
+}
@@ -7,34 +7,39 @@
 
 package de.dhbw.td.core.game;
 
-import static de.dhbw.td.core.util.GameConstants.COLS;
 import static de.dhbw.td.core.util.GameConstants.INITIAL_CREDITS;
 import static de.dhbw.td.core.util.GameConstants.INITIAL_LIFEPOINTS;
 import static de.dhbw.td.core.util.GameConstants.NO_OF_LEVELZ;
 import static de.dhbw.td.core.util.GameConstants.RETURN_PERCENTAGE;
-import static de.dhbw.td.core.util.GameConstants.ROWS;
-import static de.dhbw.td.core.util.GameConstants.TILE_SIZE;
-import static de.dhbw.td.core.util.GameConstants.WIDTH;
 import static de.dhbw.td.core.util.GameConstants.toTile;
 
-import java.util.LinkedList;
 import java.util.List;
+import java.util.Random;
 
-import playn.core.Json;
-import pythagoras.i.Point;
 import de.dhbw.td.core.enemies.Enemy;
+import de.dhbw.td.core.enemies.EnemyGrid;
+import de.dhbw.td.core.enemies.EnemyPool;
 import de.dhbw.td.core.level.ETileType;
 import de.dhbw.td.core.level.Level;
-import de.dhbw.td.core.level.LevelFactory;
-import de.dhbw.td.core.resources.ELevelText;
-import de.dhbw.td.core.resources.EWaveText;
+import de.dhbw.td.core.profiling.EMetric;
+import de.dhbw.td.core.profiling.Profiler;
+import de.dhbw.td.core.resources.AssetDataSource;
+import de.dhbw.td.core.tower.ProjectilePool;
 import de.dhbw.td.core.tower.Tower;
 import de.dhbw.td.core.tower.TowerFactory;
+import de.dhbw.td.core.tower.TowerStats;
 import de.dhbw.td.core.util.EFlavor;
+import de.dhbw.td.core.util.EntityList;
+import de.dhbw.td.core.waves.SpawnQueue;
 import de.dhbw.td.core.waves.Wave;
 import de.dhbw.td.core.waves.WaveController;
 import de.dhbw.td.core.waves.WaveControllerFactory;
 
+/**
+ * The whole simulation of a game. It only reads plain data from its
+ * {@link IGameDataSource} and never touches images or other assets, so the
+ * same update loop runs in the game and headless, e.g. in a batch runner.
+ */
 public class GameState implements IUpdateable {
 
 	private int credits;
@@ -43,66 +48,73 @@ public class GameState implements IUpdateable {
 	private int levelNumber;
 	private int waveCount;
 
-	private List<Enemy> enemies;
-	private List<Tower> towers;
+	private EnemyPool enemies;
+	private SpawnQueue spawnQueue;
+	private Profiler profiler;
+	private EntityList<Tower> towers;
+	
+	private EnemyGrid enemyGrid;
+	private ProjectilePool projectiles;
 
-	private LevelFactory levelFactory;
+	private final LevelCache levels;
 	private Level currentLevel;
 
 	private WaveControllerFactory waveFactory;
 	private WaveController currentWaveController;
 	private Wave currentWave;
 
+	private final Random random;
+
+	private TowerStats towerStats;
 	private TowerFactory towerFactory;
 	
 	private boolean[][] plat;
 	
 	private EGameStatus status;
+	/** The next level is not loaded yet, the game waits for it */
+	private boolean loadingLevel;
 	
 	private String information;
 
 	public GameState() {
+		this(new AssetDataSource(), new Random());
+	}
 
+	/**
+	 * @param data The source of levels, waves and tower stats
+	 * @param random Picks the flavors of the enemies, pass a seeded one
+	 * for a deterministic game
+	 */
+	public GameState(IGameDataSource data, Random random) {
+		this.random = random;
 
-		levelFactory = new LevelFactory();
-		waveFactory = new WaveControllerFactory();
-		towerFactory = new TowerFactory();
+		towerStats = new TowerStats(data);
+		levels = new LevelCache(data);
+		waveFactory = new WaveControllerFactory(random);
+		towerFactory = new TowerFactory(towerStats);
 
-		enemies = new LinkedList<Enemy>();
-		towers = new LinkedList<Tower>();
+		enemies = new EnemyPool();
+		spawnQueue = new SpawnQueue();
+		profiler = new Profiler();
+		towers = new EntityList<Tower>();
+		enemyGrid = new EnemyGrid();
+		projectiles = new ProjectilePool();
 		
 		goIdle();
 	}
 	
-	/**
-	 * I want to let the enemies spawn off the screen
-	 * and let them go one tile after the end, therefore
-	 * I adjust the waypoint level I get from the Level object
-	 * and put two offscreen waypoints at the beginning
-	 * respecitve to the end
-	 * @param waypointArray
-	 * @return
-	 */
-	private Point[] beautifyWaypoints(Point[] waypointArray ) {
-		int noOfWaypoints = waypointArray.length;
-		Point firstWayPoint = waypointArray[0];
-		Point lastWayPoint = waypointArray[ noOfWaypoints - 1];
-		
-		Point[] beautifiedWaypoints = new Point[noOfWaypoints + 2];
-		System.arraycopy(waypointArray, 0, beautifiedWaypoints, 1, noOfWaypoints);
-		
-		beautifiedWaypoints[0] = new Point(-TILE_SIZE, firstWayPoint.y  );
-		beautifiedWaypoints[beautifiedWaypoints.length - 1] = new Point(TILE_SIZE + WIDTH, lastWayPoint.y  );
-		return beautifiedWaypoints;
-	}
-	
 	/**
 	 * Loads the next level, including the according
-	 * wave controller and the first wave
+	 * wave controller and the first wave. If the data
+	 * of the level did not arrive yet, it is tried
+	 * again on every update until it is there.
 	 */
 	private void loadNextLevel() {
 		if (levelNumber == NO_OF_LEVELZ) {
+		} else if (!levels.isLoaded(levelNumber + 1)) {
+			loadingLevel = true;
 		} else {	
+			loadingLevel = false;
 			currentLevel = getNextLevelFromFactory();
 			currentWaveController = getNextWaveControllerFromFactory();
 			currentWave = getNextWave();
@@ -110,34 +122,37 @@ public class GameState implements IUpdateable {
 			plat = createMap(currentLevel);
 			credits = INITIAL_CREDITS * levelNumber;
 			
-			towers = new LinkedList<Tower>();
+			towers.clear();
+			projectiles.clear();
 		}
 	}
 	
+	/**
+	 * Queues the enemies of the wave, they enter the game one after another.
+	 * The pool is made ready for all of them now, so they enter without
+	 * allocating.
+	 */
 	private void copyEnemiesFromWave(Wave wave) {
-		for(Enemy e : wave.enemies()) {
-			enemies.add( new  Enemy(e));
-		}
+		enemies.reserve(wave.enemyCount());
+		spawnQueue.enqueue(wave);
 	}
 
 	/**
-	 * Loads the next level - increments levelNumber and resets waveCount
+	 * Loads the next level - increments levelNumber and resets waveCount.
+	 * A level is only built the first time, see {@link LevelCache}
 	 */
 	private Level getNextLevelFromFactory() {
 		levelNumber++;
 		waveCount = 0;
 		
-		Json.Object levelJson = ELevelText.getLevelJson(levelNumber);
-		return  levelFactory.constructLevel(levelJson);
+		return levels.level(levelNumber);
 	}
 
 	/**
 	 * Loads the WaveController for the next level.
 	 */
 	private WaveController getNextWaveControllerFromFactory() {
-		Json.Object waveControllerJson = EWaveText.getWaveControllerJson(levelNumber);
-		Point[] beautifiedWayPoints = beautifyWaypoints(currentLevel.waypoints());
-		return  waveFactory.constructWaveController(waveControllerJson, beautifiedWayPoints );
+		return waveFactory.constructWaveController(levels.waveStats(levelNumber), levels.enemyPath(levelNumber));
 	}
 
 
@@ -159,13 +174,15 @@ public class GameState implements IUpdateable {
 	 *         are occupied (false)
 	 */
 	private boolean[][] createMap(Level lvl) {	
-		boolean[][] m = new boolean[ROWS][COLS];
+		int rows = lvl.rows();
+		int cols = lvl.cols();
+		boolean[][] m = new boolean[rows][cols];
 			  
 		// We start in the second row, since the first one is for hud elements
-		for(int row = 1; row < ROWS - 1; row++) {
+		for(int row = 1; row < rows - 1; row++) {
 			// We end in the last but one row, since the last one is for hud elements
-			for(int col = 0; col < COLS; col++) {
-				if(currentLevel.map()[row][col] == ETileType.GRID) {
+			for(int col = 0; col < cols; col++) {
+				if(lvl.map()[row][col] == ETileType.GRID) {
 					m[row][col] = true;
 				}
 			}
@@ -189,7 +206,8 @@ public class GameState implements IUpdateable {
 			int cost = t.price();
 			
 			if( hasSufficientFunds(cost)) {
-				t.setEnemies(enemies);
+				t.setEnemyGrid(enemyGrid);
+				t.setProjectilePool(projectiles);
 				towers.add(t);				
 				setCellToOccupied(tilex, tiley);
 				spendCredits(cost);
@@ -232,7 +250,7 @@ public class GameState implements IUpdateable {
 		
 		if (t != null) {
 			int sellPrice = (int) (t.price() * RETURN_PERCENTAGE);
-			towers.remove(t);
+			towers.swapRemove(towers.indexOf(t));
 			setCellToVacant(toTile(pixelx), toTile(pixely));
 			addCredits(sellPrice);
 		}
@@ -243,8 +261,7 @@ public class GameState implements IUpdateable {
 		int tiley = toTile(pixely);
 		
 		for (Tower t : towers) {
-			Point position = t.position();
-			if (toTile(position.x) == tilex && toTile(position.y) == tiley) {
+			if (toTile(t.x()) == tilex && toTile(t.y()) == tiley) {
 				return t;
 			}
 		}
@@ -252,6 +269,10 @@ public class GameState implements IUpdateable {
 	}
 	
 	private boolean tileIsBuildable(int tilex, int tiley) {
+		// The map of a level may be smaller than the screen
+		if (tiley < 0 || tiley >= plat.length || tilex < 0 || tilex >= plat[tiley].length) {
+			return false;
+		}
 		return plat[tiley][tilex];
 	} 
 	
@@ -275,15 +296,17 @@ public class GameState implements IUpdateable {
 		credits = INITIAL_CREDITS;
 		lifepoints = INITIAL_LIFEPOINTS;
 		enemies.clear();
+		spawnQueue.clear();
 		towers.clear();
+		enemyGrid.clear();
+		projectiles.clear();
 		
 		status = EGameStatus.RUNNING;
 		
 		information = "";
 
-		levelFactory = new LevelFactory();
-		waveFactory = new WaveControllerFactory();
-		towerFactory = new TowerFactory();
+		waveFactory = new WaveControllerFactory(random);
+		towerFactory = new TowerFactory(towerStats);
 	
 		loadNextLevel();
 	}
@@ -298,14 +321,44 @@ public class GameState implements IUpdateable {
 
 	@Override
 	public void update(double delta) {
+		if (isOver()) {
+			return;
+		}
+		if (loadingLevel) {
+			loadNextLevel();
+			return;
+		}
+		profiler.begin(EMetric.ENEMIES);
+		spawnQueue.activate(delta, enemies);
 		updateEnemies(delta);
+		enemyGrid.rebuild(enemies);
+		profiler.end(EMetric.ENEMIES);
+		
+		profiler.begin(EMetric.TOWERS);
 		updateTowers(delta);
+		profiler.end(EMetric.TOWERS);
+		
+		profiler.begin(EMetric.PROJECTILES);
+		projectiles.update(delta);
+		profiler.end(EMetric.PROJECTILES);
+		
+		enemies.compact();
+		profiler.begin(EMetric.WAVES);
+		updateWaves();
+		profiler.end(EMetric.WAVES);
+	}
+	
+	/**
+	 * Checks whether the game is lost and starts the next wave or level
+	 * once all enemies are gone
+	 */
+	private void updateWaves() {
 		if(!(status == EGameStatus.IDLE)){
 			if( lifepoints == 0 ) {
 				status = EGameStatus.LOST;
 			}
 			
-			if (enemies.isEmpty()) {
+			if (enemies.isEmpty() && spawnQueue.isEmpty()) {
 				if (currentWaveController.hasNextWave()) {
 					currentWave = getNextWave();
 					copyEnemiesFromWave(currentWave);
@@ -318,27 +371,35 @@ public class GameState implements IUpdateable {
 		}
 	}
 	
+	/**
+	 * @return true if the game has been won or lost
+	 */
+	public boolean isOver() {
+		return status == EGameStatus.WON || status == EGameStatus.LOST;
+	}
+	
 	private boolean hasNextLevel() {
 		return levelNumber < NO_OF_LEVELZ;
 	}
 
 	/**
-	 * Updates the list of enemies
+	 * Updates the enemy pool in one sweep over its slots. Dead enemies are
+	 * only flagged here and dropped when the pool is compacted at the end
+	 * of the tick
 	 * 
 	 * @param delta
 	 */
 	private void updateEnemies(double delta) {
 		for (int i = 0; i < enemies.size(); i++) {
-			Enemy e = enemies.get(i);
-			e.update(delta);
-			if (!e.alive()) {
-				enemies.remove(e);
-				addCredits(e.bounty());
+			enemies.update(i, delta);
+			if (!enemies.alive(i)) {
+				enemies.removeLater(i);
+				addCredits(enemies.bounty(i));
 			}
 			
-			if( e.hasReachedEnd()) {
-				removeLifepoints(e.penalty());
-				e.breachAcknowledged();
+			if( enemies.hasReachedEnd(i)) {
+				removeLifepoints(enemies.penalty(i));
+				enemies.breachAcknowledged(i);
 			}
 		}
 	}
@@ -393,9 +454,23 @@ public class GameState implements IUpdateable {
 		setInformation("");
 	}
 
+	/**
+	 * @param profiler measures the phases of every update, replaces the
+	 * disabled profiler the game state starts with
+	 */
+	public void setProfiler(Profiler profiler) {
+		this.profiler = profiler;
+	}
+
 	public List<Enemy> enemies() { return enemies;	}
-	public List<Tower> towers() { return towers; }	
+	/** The enemies of the current wave which have not entered the game yet */
+	public int queuedEnemies() { return spawnQueue.size(); }
+	public List<Tower> towers() { return towers; }
+	public ProjectilePool projectiles() { return projectiles; }
+	public TowerStats towerStats() { return towerStats; }	
 	public Level level() { return currentLevel; }
+	/** @return true while the game waits for the next level to load, there is nothing to play then */
+	public boolean isLoadingLevel() { return loadingLevel; }
 	public int lifepoints() { return lifepoints; }
 	public int credits() {	return credits;	}
 	public int waveCount() { return waveCount; }
@@ -0,0 +1,67 @@
+/*  Copyright (C) 2013. All rights reserved.
+ *  Released under the terms of the GNU General Public License version 3 or later.
+ *
+ *  Contributors:
+ *  Jan-Christoph Klie - All
+ */
+
+package de.dhbw.td.core.game;
+
+import java.util.Random;
+
+/**
+ * Runs a game without a platform, as fast as the machine allows. Every tick
+ * advances the {@link GameState} by the same fixed step the game uses, so a
+ * game started with the same seed and the same player actions always plays
+ * out the same, no matter where it runs.
+ */
+public class HeadlessGame {
+
+	private final GameState state;
+	private final double step;
+	private long ticks;
+
+	/**
+	 * @param data The source of levels, waves and tower stats
+	 * @param seed Seed for the flavors of the enemies
+	 * @param updateRate Simulation steps per second
+	 */
+	public HeadlessGame(IGameDataSource data, long seed, int updateRate) {
+		this.state = new GameState(data, new Random(seed));
+		this.step = 1000.0 / updateRate;
+	}
+
+	/**
+	 * Starts a new game at the first level
+	 */
+	public void start() {
+		state.reset();
+		ticks = 0;
+	}
+
+	/**
+	 * Advances the game by one step
+	 */
+	public void tick() {
+		state.update(step);
+		ticks++;
+	}
+
+	/**
+	 * Ticks until the game is won or lost
+	 *
+	 * @param maxTicks Upper bound, in case nobody can win or lose
+	 * @return the number of ticks run
+	 */
+	public long runUntilOver(long maxTicks) {
+		long start = ticks;
+		while (!state.isOver() && ticks - start < maxTicks) {
+			tick();
+		}
+		return ticks - start;
+	}
+
+	public GameState state() { return state; }
+	public double step() { return step; }
+	public long ticks() { return ticks; }
+}
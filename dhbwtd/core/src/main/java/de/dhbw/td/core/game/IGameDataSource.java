@@ -0,0 +1,74 @@
+/*  Copyright (C) 2013. All rights reserved.
+ *  Released under the terms of the GNU General Public License version 3 or later.
+ *
+ *  Contributors:
+ *  Jan-Christoph Klie - All
+ */
+
+package de.dhbw.td.core.game;
+
+import playn.core.Json;
+import de.dhbw.td.core.util.EFlavor;
+
+/**
+ * Supplies the data the simulation is built from. The game reads it from
+ * the PlayN assets, a headless simulation from the classpath, so the
+ * simulation itself never touches images or the platform.
+ */
+public interface IGameDataSource {
+
+	/**
+	 * A level is handed out as text, so a large map can be read without
+	 * building a Json tree of its tiles first
+	 *
+	 * @param levelNumber the number of the level, starting at 1
+	 * @return the JSON text of the level description
+	 * @see de.dhbw.td.core.level.LevelFactory#constructLevel(String)
+	 */
+	String levelText(int levelNumber);
+
+	/**
+	 * @param levelNumber the number of the level, starting at 1
+	 * @return the parsed waves of the level
+	 */
+	Json.Object wavesJson(int levelNumber);
+
+	/**
+	 * @param levelNumber the number of the level, starting at 1
+	 * @return the level compiled at build time, null if there is none and
+	 *         {@link #levelText(int)} has to be used
+	 * @see de.dhbw.td.core.level.LevelCodec
+	 */
+	byte[] compiledLevel(int levelNumber);
+
+	/**
+	 * @param levelNumber the number of the level, starting at 1
+	 * @return the waves compiled at build time, null if there is none and
+	 *         {@link #wavesJson(int)} has to be used
+	 * @see de.dhbw.td.core.waves.WaveCodec
+	 */
+	byte[] compiledWaves(int levelNumber);
+
+	/**
+	 * @param flavor the flavor of the tower
+	 * @return the parsed stats of the tower
+	 */
+	Json.Object towerJson(EFlavor flavor);
+
+	/**
+	 * Tells if the level and its waves can be handed out without waiting,
+	 * and requests them if not. A level is only built once it is loaded, so
+	 * building it never blocks the game loop.
+	 *
+	 * @param levelNumber the number of the level, starting at 1
+	 * @return true if the level is loaded
+	 */
+	boolean isLevelLoaded(int levelNumber);
+
+	/**
+	 * Lets go of the level and its waves, called once the level is built
+	 *
+	 * @param levelNumber the number of the level, starting at 1
+	 */
+	void releaseLevel(int levelNumber);
+}
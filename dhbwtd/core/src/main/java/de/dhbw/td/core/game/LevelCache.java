@@ -0,0 +1,135 @@
+/*  Copyright (C) 2013. All rights reserved.
+ *  Released under the terms of the GNU General Public License version 3 or later.
+ *
+ *  Contributors:
+ *  Jan-Christoph Klie - All
+ */
+
+package de.dhbw.td.core.game;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import pythagoras.i.Point;
+import de.dhbw.td.core.enemies.EnemyPath;
+import de.dhbw.td.core.level.Level;
+import de.dhbw.td.core.level.LevelFactory;
+import de.dhbw.td.core.waves.WaveCodec;
+import de.dhbw.td.core.waves.WaveStats;
+
+/**
+ * The levels of a game, each built only once from the
+ * {@link IGameDataSource}. A built level never changes, so restarting a
+ * game or moving on to the next semester is a lookup instead of a parse.
+ * Everything handed out is shared and must not be modified.
+ */
+public class LevelCache {
+
+	private static class Entry {
+		Level level;
+		EnemyPath enemyPath;
+		WaveStats waveStats;
+	}
+
+	private final IGameDataSource data;
+	private final LevelFactory levelFactory = new LevelFactory();
+	private final Map<Integer, Entry> entries = new HashMap<Integer, Entry>();
+
+	/**
+	 * @param data The source of levels and waves
+	 */
+	public LevelCache(IGameDataSource data) {
+		this.data = data;
+	}
+
+	/**
+	 * @param levelNumber the number of the level, starting at 1
+	 */
+	public Level level(int levelNumber) {
+		return entry(levelNumber).level;
+	}
+
+	/**
+	 * @param levelNumber the number of the level, starting at 1
+	 * @return the path the enemies of the level walk along
+	 */
+	public EnemyPath enemyPath(int levelNumber) {
+		return entry(levelNumber).enemyPath;
+	}
+
+	/**
+	 * @param levelNumber the number of the level, starting at 1
+	 * @return the stats of the enemies of every wave of the level
+	 */
+	public WaveStats waveStats(int levelNumber) {
+		return entry(levelNumber).waveStats;
+	}
+
+	/**
+	 * @param levelNumber the number of the level, starting at 1
+	 * @return true if the level is built or can be built without waiting
+	 *         for its data, which is requested otherwise
+	 * @see IGameDataSource#isLevelLoaded(int)
+	 */
+	public boolean isLoaded(int levelNumber) {
+		return entries.containsKey(levelNumber) || data.isLevelLoaded(levelNumber);
+	}
+
+	private Entry entry(int levelNumber) {
+		Entry entry = entries.get(levelNumber);
+		if (entry == null) {
+			entry = load(levelNumber);
+			entries.put(levelNumber, entry);
+			data.releaseLevel(levelNumber);
+		}
+		return entry;
+	}
+
+	/**
+	 * Builds the level from its compiled form, or from the JSON if there is none
+	 */
+	private Entry load(int levelNumber) {
+		Entry entry = new Entry();
+
+		byte[] compiledLevel = data.compiledLevel(levelNumber);
+		if (compiledLevel != null) {
+			entry.level = levelFactory.constructLevel(compiledLevel);
+		} else {
+			entry.level = levelFactory.constructLevel(data.levelText(levelNumber));
+		}
+		entry.enemyPath = new EnemyPath(beautifyWaypoints(entry.level));
+
+		byte[] compiledWaves = data.compiledWaves(levelNumber);
+		if (compiledWaves != null) {
+			entry.waveStats = WaveCodec.decode(compiledWaves);
+		} else {
+			entry.waveStats = WaveStats.fromJson(data.wavesJson(levelNumber));
+		}
+		return entry;
+	}
+
+	/**
+	 * I want to let the enemies spawn off the screen
+	 * and let them go one tile after the end, therefore
+	 * I adjust the waypoint level I get from the Level object
+	 * and put two offscreen waypoints at the beginning
+	 * respecitve to the end. The end is taken from the level,
+	 * since a map may be wider than the screen
+	 * @param level
+	 * @return
+	 */
+	private static Point[] beautifyWaypoints(Level level) {
+		Point[] waypointArray = level.waypoints();
+		int tilesize = level.tilesize();
+		int noOfWaypoints = waypointArray.length;
+		Point firstWayPoint = waypointArray[0];
+		Point lastWayPoint = waypointArray[noOfWaypoints - 1];
+
+		Point[] beautifiedWaypoints = new Point[noOfWaypoints + 2];
+		System.arraycopy(waypointArray, 0, beautifiedWaypoints, 1, noOfWaypoints);
+
+		beautifiedWaypoints[0] = new Point(-tilesize, firstWayPoint.y);
+		beautifiedWaypoints[beautifiedWaypoints.length - 1] = new Point((level.cols() + 1) * tilesize, lastWayPoint.y);
+		return beautifiedWaypoints;
+	}
+}
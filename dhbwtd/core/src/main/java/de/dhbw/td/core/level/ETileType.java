@@ -7,24 +7,24 @@
  */
 package de.dhbw.td.core.level;
 
-import playn.core.Image;
-import de.dhbw.td.core.resources.ETileImage;
-
+/**
+ * The kinds of tiles a level is made of. The images of the tiles are
+ * looked up by {@link de.dhbw.td.core.resources.ETileImage#forTile(ETileType)},
+ * so a level can be loaded without a platform.
+ */
 public enum ETileType {
 
-	GRID(ETileImage.GRID),
-	WHITE(ETileImage.WHITE),
-	EDGE_LEFT_BOTTOM(ETileImage.EDGE_LEFT_BOTTOM),
-	EDGE_LEFT_TOP(ETileImage.EDGE_LEFT_TOP),
-	EDGE_RIGHT_BOTTOM(ETileImage.EDGE_RIGHT_BOTTOM),
-	EDGE_RIGHT_TOP(ETileImage.EDGE_RIGHT_TOP),
-	PATH_EMPTY(ETileImage.PATH_INTERSECTION),
-	PATH_HORIZONTAL(ETileImage.PATH_HORIZONTAL),
-	PATH_VERTICAL(ETileImage.PATH_VERTICAL),
-	PATH_START(ETileImage.START),
-	PATH_END(ETileImage.FINISH);
-
-	private final Image image;
+	GRID,
+	WHITE,
+	EDGE_LEFT_BOTTOM,
+	EDGE_LEFT_TOP,
+	EDGE_RIGHT_BOTTOM,
+	EDGE_RIGHT_TOP,
+	PATH_EMPTY,
+	PATH_HORIZONTAL,
+	PATH_VERTICAL,
+	PATH_START,
+	PATH_END;
 
 	public static ETileType createFromTileId(int id) {
 		switch (id) {
@@ -42,12 +42,4 @@ public enum ETileType {
 		default: throw new IllegalArgumentException("No ETileType with Tile ID:" + id);
 		}
 	}
-
-	ETileType(ETileImage tileImage) {
-		this.image = tileImage.image;
-	}
-	
-	public Image image() {
-		return image;
-	}
 }
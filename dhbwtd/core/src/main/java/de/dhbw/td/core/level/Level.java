@@ -17,7 +17,7 @@ public class Level {
 	private final int width;
 	private final int tilesize;
 	private final ETileType[][] map;
-	private Point[] waypoints;
+	private final Point[] waypoints;
 
 	public Level(ETileType[][] map,Point[] waypoints, int tilesize, int width, int height, int startx, int starty) {
 		this.tilesize = tilesize;
@@ -52,6 +52,7 @@ public class Level {
 	public int width() { return width * tilesize; }
 	public int height() { return height * tilesize;	}	
 	public int tilesize() { return tilesize; }
+	/** The tiles by row and column, shared by every game of the level; do not modify */
 	public ETileType[][] map() { return map; }
 	
 
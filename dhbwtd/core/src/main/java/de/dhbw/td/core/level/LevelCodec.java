@@ -0,0 +1,98 @@
+/*  Copyright (C) 2013. All rights reserved.
+ *  Released under the terms of the GNU General Public License version 3 or later.
+ *
+ *  Contributors:
+ *  Jan-Christoph Klie - All
+ */
+
+package de.dhbw.td.core.level;
+
+import pythagoras.i.Point;
+import de.dhbw.td.core.util.ByteReader;
+import de.dhbw.td.core.util.ByteWriter;
+
+/**
+ * The compiled form of a level, written at build time by
+ * {@link de.dhbw.td.tools.LevelCompiler}. It holds a byte per tile
+ * and the waypoints already found, so loading a level neither walks Json
+ * nor searches the path.
+ *
+ * <pre>
+ * int    magic "DTLV"
+ * byte   version
+ * short  columns, rows, tile size
+ * byte   tile ids, row by row
+ * int    number of waypoints
+ * short  column, row of every waypoint
+ * </pre>
+ *
+ * The waypoints are stored in tiles, in pixel a map of 512 tiles would
+ * not fit into a short any more.
+ */
+public class LevelCodec {
+
+	private static final int MAGIC = 0x44544C56;
+	private static final int VERSION = 2;
+	private static final ETileType[] TILES = ETileType.values();
+
+	private LevelCodec() {
+		throw new RuntimeException("I shall not be initialized");
+	}
+
+	public static byte[] encode(Level level) {
+		ByteWriter out = new ByteWriter();
+		out.putInt(MAGIC).put(VERSION);
+		out.putShort(level.cols()).putShort(level.rows()).putShort(level.tilesize());
+
+		for (ETileType[] row : level.map()) {
+			for (ETileType tile : row) {
+				out.put(tile.ordinal());
+			}
+		}
+
+		int tilesize = level.tilesize();
+		Point[] waypoints = level.waypoints();
+		out.putInt(waypoints.length);
+		for (Point p : waypoints) {
+			if (p.x % tilesize != 0 || p.y % tilesize != 0) {
+				throw new IllegalArgumentException("Waypoint " + p + " is not on a tile");
+			}
+			out.putShort(p.x / tilesize).putShort(p.y / tilesize);
+		}
+		return out.toByteArray();
+	}
+
+	/**
+	 * @throws IllegalArgumentException if the bytes are no compiled level of this version
+	 */
+	public static Level decode(byte[] compiled) {
+		ByteReader in = new ByteReader(compiled);
+		if (in.getInt() != MAGIC || in.get() != VERSION) {
+			throw new IllegalArgumentException("Not a compiled level of version " + VERSION);
+		}
+		int width = in.getShort();
+		int height = in.getShort();
+		int tilesize = in.getShort();
+
+		ETileType[][] map = new ETileType[height][width];
+		for (int row = 0; row < height; row++) {
+			for (int col = 0; col < width; col++) {
+				int id = in.get();
+				if (id >= TILES.length) {
+					throw new IllegalArgumentException("No ETileType with Tile ID:" + id);
+				}
+				map[row][col] = TILES[id];
+			}
+		}
+
+		int count = in.getInt();
+		if (count <= 0 || count > in.remaining() / 4) {
+			throw new IllegalArgumentException("A compiled level needs waypoints");
+		}
+		Point[] waypoints = new Point[count];
+		for (int i = 0; i < waypoints.length; i++) {
+			waypoints[i] = new Point(in.getShort() * tilesize, in.getShort() * tilesize);
+		}
+		return new Level(map, waypoints, tilesize, width, height, waypoints[0].x / tilesize, waypoints[0].y / tilesize);
+	}
+}
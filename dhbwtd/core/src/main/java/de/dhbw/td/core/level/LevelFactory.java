@@ -8,8 +8,6 @@
 
 package de.dhbw.td.core.level;
 
-import static playn.core.PlayN.json;
-
 import java.util.LinkedList;
 import java.util.Queue;
 
@@ -30,7 +28,7 @@ public class LevelFactory {
 	private int tilesize;
 	private int startx;
 	private int starty;
-	private Json.Array grid;
+	private ETileType[][] map;
 
 	/**
 	 * Initializes the LevelFactory object
@@ -43,25 +41,49 @@ public class LevelFactory {
 		tilesize = parsedJson.getInt("tilesize");
 		startx = parsedJson.getInt("startx");
 		starty = parsedJson.getInt("starty");
-		grid = parsedJson.getArray("tiles");
+		map = loadMap(parsedJson.getArray("tiles"));
 	}
 
+	/**
+	 * Builds the level straight from its JSON text, without a Json tree in
+	 * between. The map may be of any size, the size is taken from its width
+	 * and height.
+	 * 
+	 * @param jsonString the JSON of the level
+	 * @throws IllegalArgumentException if the text is no level
+	 */
 	public Level constructLevel(String jsonString) {
-		Json.Object configuration = json().parse(jsonString);
-		return constructLevel(configuration);
+		LevelParser parser = new LevelParser(jsonString);
+		width = parser.width();
+		height = parser.height();
+		tilesize = parser.tilesize();
+		startx = parser.startx();
+		starty = parser.starty();
+		map = parser.tiles();
+		return constructLevel();
+	}
+
+	/**
+	 * @param compiled a level compiled at build time
+	 * @see LevelCodec
+	 */
+	public Level constructLevel(byte[] compiled) {
+		return LevelCodec.decode(compiled);
 	}
 
 	public Level constructLevel(Json.Object parsedJson) {
 		init(parsedJson);
+		return constructLevel();
+	}
 
+	private Level constructLevel() {
 		Queue<Point> waypointList = generateWaypoints();
 		
-		ETileType[][] map = loadMap();
 		Point[] waypointArray = new Point[waypointList.size()];
 		return new Level(map, waypointList.toArray(waypointArray), tilesize, width, height, startx, starty);
 	}
 	
-	private ETileType[][] loadMap() {
+	private ETileType[][] loadMap(Json.Array grid) {
 		ETileType[][] map = new ETileType[height][width];
 		for (int row = 0; row < height; row++) {
 			Json.Array gridRow = grid.getArray(row);
@@ -144,14 +166,14 @@ public class LevelFactory {
 				throw new IllegalStateException("Illegal waypoint at: " + container.col + "," + container.row);
 			}
 
-			// set tile to next tile
-			curTile = getTileType(container.col, container.row);
-
 			// check whether we are still in boundary. Else raise error
 			if (container.col < 0 || container.row < 0 || container.col > width - 1 || container.row > height - 1) {
 				throw new IllegalStateException("Waypoints leaving boundariesat at: " + container.col + "," + container.row);
 			}
 
+			// set tile to next tile
+			curTile = getTileType(container.col, container.row);
+
 		}
 		// here we should have reached the end if not we're unlucky
 		container.addWaypoint();
@@ -159,7 +181,7 @@ public class LevelFactory {
 	}
 
 	private ETileType getTileType(int column, int row) {
-		return ETileType.createFromTileId(grid.getArray(row).getInt(column));
+		return map[row][column];
 	}
 
 	private void handleEdgeLeftBottom(DirectionContainer container) {
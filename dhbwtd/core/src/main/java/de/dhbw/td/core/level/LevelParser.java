@@ -0,0 +1,205 @@
+/*  Copyright (C) 2013. All rights reserved.
+ *  Released under the terms of the GNU General Public License version 3 or later.
+ *
+ *  Contributors:
+ *  Jan-Christoph Klie - All
+ */
+
+package de.dhbw.td.core.level;
+
+/**
+ * Reads a level from its JSON text without building a Json tree, which for
+ * a large map takes many times the memory of the map itself. The tiles are
+ * written straight into the map, its size is taken from the width and
+ * height of the file. The tiles usually come before the size in a file,
+ * so they are skipped until the size is known and read afterwards.
+ */
+class LevelParser {
+
+	private final String text;
+	private int pos;
+
+	private int width = -1;
+	private int height = -1;
+	private int tilesize;
+	private int startx;
+	private int starty;
+	private ETileType[][] tiles;
+
+	/**
+	 * @param text the JSON of a level
+	 * @throws IllegalArgumentException if the text is no level
+	 */
+	LevelParser(String text) {
+		this.text = text;
+		parse();
+	}
+
+	private void parse() {
+		int tilesAt = -1;
+
+		expect('{');
+		if (!consume('}')) {
+			do {
+				String key = readString();
+				expect(':');
+				if (key.equals("tiles")) {
+					skipWhitespace();
+					tilesAt = pos;
+					skipValue();
+				} else if (key.equals("width")) {
+					width = readInt();
+				} else if (key.equals("height")) {
+					height = readInt();
+				} else if (key.equals("tilesize")) {
+					tilesize = readInt();
+				} else if (key.equals("startx")) {
+					startx = readInt();
+				} else if (key.equals("starty")) {
+					starty = readInt();
+				} else {
+					skipValue();
+				}
+			} while (consume(','));
+			expect('}');
+		}
+
+		if (width < 0 || height < 0) {
+			throw new IllegalArgumentException("A level needs a width and a height");
+		}
+		if (tilesAt < 0) {
+			throw new IllegalArgumentException("A level needs tiles");
+		}
+		pos = tilesAt;
+		readTiles();
+	}
+
+	private void readTiles() {
+		tiles = new ETileType[height][width];
+		expect('[');
+		for (int row = 0; row < height; row++) {
+			if (row > 0) {
+				expect(',');
+			}
+			expect('[');
+			for (int col = 0; col < width; col++) {
+				if (col > 0) {
+					expect(',');
+				}
+				tiles[row][col] = ETileType.createFromTileId(readInt());
+			}
+			if (!consume(']')) {
+				throw error("Row " + row + " is longer than the width " + width);
+			}
+		}
+		if (!consume(']')) {
+			throw error("There are more rows than the height " + height);
+		}
+	}
+
+	private int readInt() {
+		skipWhitespace();
+		boolean negative = pos < text.length() && text.charAt(pos) == '-';
+		if (negative) {
+			pos++;
+		}
+		// Parsed in place, a substring per tile would be most of the garbage
+		int start = pos;
+		int value = 0;
+		while (pos < text.length()) {
+			int digit = text.charAt(pos) - '0';
+			if (digit < 0 || digit > 9) {
+				break;
+			}
+			value = value * 10 + digit;
+			pos++;
+		}
+		if (pos == start) {
+			throw error("Expected a number");
+		}
+		return negative ? -value : value;
+	}
+
+	private String readString() {
+		expect('"');
+		int start = pos;
+		while (pos < text.length() && text.charAt(pos) != '"') {
+			if (text.charAt(pos) == '\\') {
+				pos++;
+			}
+			pos++;
+		}
+		if (pos >= text.length()) {
+			throw error("Unterminated string");
+		}
+		return text.substring(start, pos++);
+	}
+
+	/**
+	 * Moves past a value of any type without looking at it
+	 */
+	private void skipValue() {
+		skipWhitespace();
+		if (pos >= text.length()) {
+			throw error("Expected a value");
+		}
+		char c = text.charAt(pos);
+		if (c == '"') {
+			readString();
+		} else if (c == '[' || c == '{') {
+			int depth = 0;
+			do {
+				c = text.charAt(pos);
+				if (c == '"') {
+					readString();
+					continue;
+				}
+				if (c == '[' || c == '{') {
+					depth++;
+				} else if (c == ']' || c == '}') {
+					depth--;
+				}
+				pos++;
+			} while (depth > 0 && pos < text.length());
+			if (depth > 0) {
+				throw error("Unterminated array or object");
+			}
+		} else {
+			while (pos < text.length() && ",}] \t\r\n".indexOf(text.charAt(pos)) < 0) {
+				pos++;
+			}
+		}
+	}
+
+	private void skipWhitespace() {
+		while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+			pos++;
+		}
+	}
+
+	private boolean consume(char c) {
+		skipWhitespace();
+		if (pos < text.length() && text.charAt(pos) == c) {
+			pos++;
+			return true;
+		}
+		return false;
+	}
+
+	private void expect(char c) {
+		if (!consume(c)) {
+			throw error("Expected '" + c + "'");
+		}
+	}
+
+	private IllegalArgumentException error(String message) {
+		return new IllegalArgumentException(message + " at character " + pos + " of the level");
+	}
+
+	int width() { return width; }
+	int height() { return height; }
+	int tilesize() { return tilesize; }
+	int startx() { return startx; }
+	int starty() { return starty; }
+	ETileType[][] tiles() { return tiles; }
+}
@@ -0,0 +1,28 @@
+/*  Copyright (C) 2013. All rights reserved.
+ *  Released under the terms of the GNU General Public License version 3 or later.
+ *
+ *  Contributors:
+ *  Jan-Christoph Klie - All
+ */
+
+package de.dhbw.td.core.profiling;
+
+/**
+ * The durations measured by the {@link Profiler}. UPDATE and PAINT are whole
+ * frames of the game, the others are the phases of a simulation step.
+ */
+public enum EMetric {
+
+	UPDATE("update"),
+	PAINT("paint"),
+	ENEMIES("enemies"),
+	TOWERS("towers"),
+	PROJECTILES("projectiles"),
+	WAVES("waves");
+
+	public final String label;
+
+	EMetric(String label) {
+		this.label = label;
+	}
+}
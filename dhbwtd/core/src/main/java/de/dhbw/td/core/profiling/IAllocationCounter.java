@@ -0,0 +1,21 @@
+/*  Copyright (C) 2013. All rights reserved.
+ *  Released under the terms of the GNU General Public License version 3 or later.
+ *
+ *  Contributors:
+ *  Jan-Christoph Klie - All
+ */
+
+package de.dhbw.td.core.profiling;
+
+/**
+ * Counts the memory allocated by the game thread. Only some platforms are
+ * able to, so the {@link Profiler} only reports allocations if one is set.
+ */
+public interface IAllocationCounter {
+
+	/**
+	 * @return the number of bytes the current thread allocated so far
+	 */
+	long allocatedBytes();
+
+}
@@ -0,0 +1,21 @@
+/*  Copyright (C) 2013. All rights reserved.
+ *  Released under the terms of the GNU General Public License version 3 or later.
+ *
+ *  Contributors:
+ *  Jan-Christoph Klie - All
+ */
+
+package de.dhbw.td.core.profiling;
+
+/**
+ * A source of time for the {@link Profiler} and the simulation, so neither
+ * depends on the platform
+ */
+public interface IClock {
+
+	/**
+	 * @return the current time in milliseconds, only differences are used
+	 */
+	double now();
+
+}
@@ -0,0 +1,17 @@
+/*  Copyright (C) 2013. All rights reserved.
+ *  Released under the terms of the GNU General Public License version 3 or later.
+ *
+ *  Contributors:
+ *  Jan-Christoph Klie - All
+ */
+
+package de.dhbw.td.core.profiling;
+
+/**
+ * Receives the numbers of the {@link Profiler} in regular intervals
+ */
+public interface IProfilerListener {
+
+	void onSnapshot(ProfilerSnapshot snapshot);
+
+}
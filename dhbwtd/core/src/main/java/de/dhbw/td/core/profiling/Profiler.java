@@ -0,0 +1,172 @@
+/*  Copyright (C) 2013. All rights reserved.
+ *  Released under the terms of the GNU General Public License version 3 or later.
+ *
+ *  Contributors:
+ *  Jan-Christoph Klie - All
+ */
+
+package de.dhbw.td.core.profiling;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import de.dhbw.td.core.game.GameState;
+
+/**
+ * Measures where the time of a frame goes. Durations are taken between
+ * {@link #begin(EMetric)} and {@link #end(EMetric)} and kept for the last
+ * samples, allocations are counted per simulation step if the platform
+ * can count them. In regular intervals a {@link ProfilerSnapshot} of the
+ * percentiles is handed to the listeners.
+ *
+ * A disabled profiler does not even read the clock, so the calls can stay
+ * in the game loop.
+ */
+public class Profiler {
+
+	/** The number of samples the percentiles are computed from */
+	public static final int SAMPLES = 256;
+
+	/** Milliseconds between two snapshots */
+	public static final double SNAPSHOT_INTERVAL = 500;
+
+	private static final EMetric[] METRICS = EMetric.values();
+
+	private final RollingStats[] durations = new RollingStats[METRICS.length];
+	private final double[] started = new double[METRICS.length];
+	private final RollingStats allocations = new RollingStats(SAMPLES);
+	private final List<IProfilerListener> listeners = new ArrayList<IProfilerListener>();
+
+	private IClock clock;
+	private IAllocationCounter allocationCounter;
+	private boolean enabled;
+	private double lastSnapshot;
+	private ProfilerSnapshot snapshot;
+
+	/**
+	 * Creates a disabled profiler without clock
+	 */
+	public Profiler() {
+		for (EMetric m : METRICS) {
+			durations[m.ordinal()] = new RollingStats(SAMPLES);
+		}
+	}
+
+	/**
+	 * @param clock the clock durations are measured with
+	 */
+	public Profiler(IClock clock) {
+		this();
+		this.clock = clock;
+	}
+
+	/**
+	 * Starts measuring a duration
+	 */
+	public void begin(EMetric metric) {
+		if (enabled) {
+			started[metric.ordinal()] = clock.now();
+		}
+	}
+
+	/**
+	 * Stops measuring a duration and adds it to the samples
+	 */
+	public void end(EMetric metric) {
+		if (enabled) {
+			durations[metric.ordinal()].add(clock.now() - started[metric.ordinal()]);
+		}
+	}
+
+	/**
+	 * @return the bytes allocated so far, pass them to {@link #countAllocations(long, int)}
+	 * after the steps; -1 if allocations are not counted
+	 */
+	public long allocatedBytes() {
+		return enabled && allocationCounter != null ? allocationCounter.allocatedBytes() : -1;
+	}
+
+	/**
+	 * Adds the allocations per step since {@link #allocatedBytes()} was called
+	 *
+	 * @param allocatedBefore what {@link #allocatedBytes()} returned before the steps
+	 * @param steps the number of simulation steps run since then
+	 */
+	public void countAllocations(long allocatedBefore, int steps) {
+		if (allocatedBefore < 0 || steps == 0) {
+			return;
+		}
+		allocations.add((double) (allocationCounter.allocatedBytes() - allocatedBefore) / steps);
+	}
+
+	/**
+	 * Takes a snapshot and hands it to the listeners, if the last one is
+	 * older than {@link #SNAPSHOT_INTERVAL}
+	 *
+	 * @param gameState the game to count the objects of
+	 * @return true if a snapshot was taken
+	 */
+	public boolean snapshot(GameState gameState) {
+		if (!enabled) {
+			return false;
+		}
+		double now = clock.now();
+		if (now - lastSnapshot < SNAPSHOT_INTERVAL) {
+			return false;
+		}
+		lastSnapshot = now;
+
+		snapshot = new ProfilerSnapshot(now);
+		for (EMetric m : METRICS) {
+			RollingStats stats = durations[m.ordinal()];
+			snapshot.setDuration(m, stats.percentile(0.5), stats.percentile(0.99));
+		}
+		if (allocationCounter != null) {
+			snapshot.setAllocations(Math.round(allocations.percentile(0.5)), Math.round(allocations.percentile(0.99)));
+		}
+		snapshot.setCounts(gameState.enemies().size(), gameState.queuedEnemies(),
+				gameState.towers().size(), gameState.projectiles().size());
+
+		for (IProfilerListener listener : listeners) {
+			listener.onSnapshot(snapshot);
+		}
+		return true;
+	}
+
+	/**
+	 * Starts or stops measuring. The samples are dropped when measuring
+	 * starts, so they never span a pause.
+	 *
+	 * @throws IllegalStateException if there is no clock to measure with
+	 */
+	public void setEnabled(boolean enabled) {
+		if (enabled && clock == null) {
+			throw new IllegalStateException("A profiler without clock cannot measure");
+		}
+		if (enabled && !this.enabled) {
+			for (RollingStats stats : durations) {
+				stats.clear();
+			}
+			allocations.clear();
+			lastSnapshot = clock.now();
+		}
+		this.enabled = enabled;
+	}
+
+	public void addListener(IProfilerListener listener) {
+		listeners.add(listener);
+	}
+
+	public void removeListener(IProfilerListener listener) {
+		listeners.remove(listener);
+	}
+
+	/**
+	 * @param clock a clock more precise than the default one of the platform
+	 */
+	public void setClock(IClock clock) { this.clock = clock; }
+	public void setAllocationCounter(IAllocationCounter allocationCounter) { this.allocationCounter = allocationCounter; }
+	public boolean isEnabled() { return enabled; }
+	/** The last snapshot taken, null if none was */
+	public ProfilerSnapshot lastSnapshot() { return snapshot; }
+}
@@ -0,0 +1,101 @@
+/*  Copyright (C) 2013. All rights reserved.
+ *  Released under the terms of the GNU General Public License version 3 or later.
+ *
+ *  Contributors:
+ *  Jan-Christoph Klie - All
+ */
+
+package de.dhbw.td.core.profiling;
+
+/**
+ * The numbers of the {@link Profiler} at one point in time: the median and
+ * the 99th percentile of the recent durations and allocations, and the
+ * number of game objects.
+ */
+public class ProfilerSnapshot {
+
+	private static final EMetric[] METRICS = EMetric.values();
+
+	private final double time;
+	private final double[] p50 = new double[METRICS.length];
+	private final double[] p99 = new double[METRICS.length];
+	private long allocationsP50 = -1;
+	private long allocationsP99 = -1;
+	private int enemies;
+	private int queuedEnemies;
+	private int towers;
+	private int projectiles;
+
+	ProfilerSnapshot(double time) {
+		this.time = time;
+	}
+
+	void setDuration(EMetric metric, double p50, double p99) {
+		this.p50[metric.ordinal()] = p50;
+		this.p99[metric.ordinal()] = p99;
+	}
+
+	void setAllocations(long p50, long p99) {
+		allocationsP50 = p50;
+		allocationsP99 = p99;
+	}
+
+	void setCounts(int enemies, int queuedEnemies, int towers, int projectiles) {
+		this.enemies = enemies;
+		this.queuedEnemies = queuedEnemies;
+		this.towers = towers;
+		this.projectiles = projectiles;
+	}
+
+	/**
+	 * @return the names of the columns of {@link #toCsv()}
+	 */
+	public static String csvHeader() {
+		StringBuilder sb = new StringBuilder("time_ms");
+		for (EMetric m : METRICS) {
+			sb.append(',').append(m.label).append("_p50_ms");
+			sb.append(',').append(m.label).append("_p99_ms");
+		}
+		sb.append(",alloc_per_tick_p50_bytes,alloc_per_tick_p99_bytes");
+		sb.append(",enemies,queued_enemies,towers,projectiles");
+		return sb.toString();
+	}
+
+	/**
+	 * @return the snapshot as a line of comma separated values, without line break
+	 */
+	public String toCsv() {
+		StringBuilder sb = new StringBuilder();
+		sb.append((long) time);
+		for (EMetric m : METRICS) {
+			sb.append(',').append(formatMillis(p50(m)));
+			sb.append(',').append(formatMillis(p99(m)));
+		}
+		sb.append(',').append(allocationsP50).append(',').append(allocationsP99);
+		sb.append(',').append(enemies).append(',').append(queuedEnemies);
+		sb.append(',').append(towers).append(',').append(projectiles);
+		return sb.toString();
+	}
+
+	/**
+	 * @param millis a duration
+	 * @return the duration with three decimals
+	 */
+	public static String formatMillis(double millis) {
+		long micros = Math.round(millis * 1000);
+		long fraction = micros % 1000;
+		String digits = "00" + fraction;
+		return (micros / 1000) + "." + digits.substring(digits.length() - 3);
+	}
+
+	public double time() { return time; }
+	public double p50(EMetric metric) { return p50[metric.ordinal()]; }
+	public double p99(EMetric metric) { return p99[metric.ordinal()]; }
+	/** -1 if allocations are not counted on this platform */
+	public long allocationsP50() { return allocationsP50; }
+	public long allocationsP99() { return allocationsP99; }
+	public int enemies() { return enemies; }
+	public int queuedEnemies() { return queuedEnemies; }
+	public int towers() { return towers; }
+	public int projectiles() { return projectiles; }
+}
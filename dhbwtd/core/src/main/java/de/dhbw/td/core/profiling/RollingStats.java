@@ -0,0 +1,57 @@
+/*  Copyright (C) 2013. All rights reserved.
+ *  Released under the terms of the GNU General Public License version 3 or later.
+ *
+ *  Contributors:
+ *  Jan-Christoph Klie - All
+ */
+
+package de.dhbw.td.core.profiling;
+
+import java.util.Arrays;
+
+/**
+ * The last samples of a measurement in a ring buffer. Adding a sample does
+ * not allocate, so it can be done in every tick.
+ */
+public class RollingStats {
+
+	private final double[] samples;
+	private final double[] sorted;
+	private int next;
+	private int count;
+
+	/**
+	 * @param capacity the number of samples kept
+	 */
+	public RollingStats(int capacity) {
+		samples = new double[capacity];
+		sorted = new double[capacity];
+	}
+
+	public void add(double sample) {
+		samples[next] = sample;
+		next = (next + 1) % samples.length;
+		count = Math.min(count + 1, samples.length);
+	}
+
+	/**
+	 * @param p the percentile, in (0, 1]
+	 * @return the smallest sample at least p of the samples are not greater than,
+	 * 0 if there are no samples
+	 */
+	public double percentile(double p) {
+		if (count == 0) {
+			return 0;
+		}
+		System.arraycopy(samples, 0, sorted, 0, count);
+		Arrays.sort(sorted, 0, count);
+		int rank = (int) Math.ceil(p * count);
+		return sorted[Math.max(0, Math.min(count, rank) - 1)];
+	}
+
+	public void clear() {
+		next = count = 0;
+	}
+
+	public int count() { return count; }
+}
@@ -0,0 +1,159 @@
+/*  Copyright (C) 2013. All rights reserved.
+ *  Released under the terms of the GNU General Public License version 3 or later.
+ *
+ *  Contributors:
+ *  Jan-Christoph Klie - All
+ */
+
+package de.dhbw.td.core.resources;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps assets by path and counts who holds them. An asset which is
+ * retained stays resident. Once the last holder released it, it is only
+ * kept while it is among the least recently used unreferenced assets that
+ * fit into the capacity, so it can be dropped and loaded again later.
+ *
+ * @param <T> the type of the assets
+ */
+public class AssetCache<T> {
+
+	private static class Entry<T> {
+		T asset;
+		int references;
+	}
+
+	private final int capacity;
+	private final Map<String, Entry<T>> entries = new HashMap<String, Entry<T>>();
+
+	/** The unreferenced assets, least recently used first */
+	private final LinkedHashMap<String, Entry<T>> unused = new LinkedHashMap<String, Entry<T>>(16, 0.75f, true);
+
+	/**
+	 * @param capacity how many unreferenced assets are kept at most
+	 */
+	public AssetCache(int capacity) {
+		if (capacity < 0) {
+			throw new IllegalArgumentException("The capacity must not be negative, but is " + capacity);
+		}
+		this.capacity = capacity;
+	}
+
+	/**
+	 * @return the asset of the path, null if it is not resident
+	 */
+	public T get(String path) {
+		Entry<T> entry = entries.get(path);
+		if (entry == null) {
+			return null;
+		}
+		if (entry.references == 0) {
+			unused.get(path); // counts as use
+		}
+		return entry.asset;
+	}
+
+	/**
+	 * Adds an asset nobody holds yet, or replaces the asset of the path
+	 * keeping its references
+	 */
+	public void put(String path, T asset) {
+		Entry<T> entry = entries.get(path);
+		if (entry == null) {
+			entry = new Entry<T>();
+			entries.put(path, entry);
+			unused.put(path, entry);
+		}
+		entry.asset = asset;
+		evict();
+	}
+
+	/**
+	 * Keeps the asset of the path resident until it is released
+	 *
+	 * @return the asset of the path, null if it is not resident and therefore not retained
+	 */
+	public T retain(String path) {
+		Entry<T> entry = entries.get(path);
+		if (entry == null) {
+			return null;
+		}
+		if (entry.references++ == 0) {
+			unused.remove(path);
+		}
+		return entry.asset;
+	}
+
+	/**
+	 * Keeps the asset of the path resident until it is released, the given
+	 * asset is added if there is none yet
+	 *
+	 * @return the asset of the path, which is the given one if it was not resident
+	 */
+	public T retain(String path, T asset) {
+		if (entries.containsKey(path)) {
+			return retain(path);
+		}
+		Entry<T> entry = new Entry<T>();
+		entry.asset = asset;
+		entry.references = 1;
+		entries.put(path, entry);
+		return asset;
+	}
+
+	/**
+	 * Gives up one reference to the asset of the path. An asset nobody holds
+	 * any more may be evicted.
+	 *
+	 * @throws IllegalStateException if the asset is not retained
+	 */
+	public void release(String path) {
+		Entry<T> entry = entries.get(path);
+		if (entry == null || entry.references == 0) {
+			throw new IllegalStateException("The asset at " + path + " is not retained");
+		}
+		if (--entry.references == 0) {
+			unused.put(path, entry);
+			evict();
+		}
+	}
+
+	/**
+	 * Gives up one reference to the asset, looked up by identity
+	 *
+	 * @throws IllegalStateException if the asset is not retained
+	 */
+	public void releaseAsset(T asset) {
+		for (Map.Entry<String, Entry<T>> e : entries.entrySet()) {
+			if (e.getValue().asset == asset) {
+				release(e.getKey());
+				return;
+			}
+		}
+		throw new IllegalStateException("The asset " + asset + " is not retained");
+	}
+
+	private void evict() {
+		Iterator<String> eldest = unused.keySet().iterator();
+		while (unused.size() > capacity) {
+			entries.remove(eldest.next());
+			eldest.remove();
+		}
+	}
+
+	/**
+	 * @return how many holders the asset of the path has, 0 if it is not resident
+	 */
+	public int references(String path) {
+		Entry<T> entry = entries.get(path);
+		return entry == null ? 0 : entry.references;
+	}
+
+	public boolean isResident(String path) { return entries.containsKey(path); }
+	/** The number of resident assets, retained or not */
+	public int size() { return entries.size(); }
+}
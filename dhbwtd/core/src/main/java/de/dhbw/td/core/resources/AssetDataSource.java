@@ -0,0 +1,157 @@
+/*  Copyright (C) 2013. All rights reserved.
+ *  Released under the terms of the GNU General Public License version 3 or later.
+ *
+ *  Contributors:
+ *  Jan-Christoph Klie - All
+ */
+
+package de.dhbw.td.core.resources;
+
+import static de.dhbw.td.core.util.GameConstants.NO_OF_LEVELZ;
+import static playn.core.PlayN.log;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import playn.core.Json;
+import playn.core.util.Callback;
+import de.dhbw.td.core.game.IGameDataSource;
+import de.dhbw.td.core.util.EFlavor;
+
+/**
+ * Game data loaded through the PlayN assets of the running platform. Only
+ * the level being played is needed, so when a level is built the next one
+ * is requested in the background and the ones before may be dropped, see
+ * {@link AssetRegistry}. A requested level is held until it is built, and
+ * it is only built once it arrived, so nothing is loaded synchronously.
+ */
+public class AssetDataSource implements IGameDataSource {
+
+	/**
+	 * The files of a level which are held until the level is built
+	 */
+	private static class LevelFiles {
+		/** The level and the waves still loading */
+		int pending = 2;
+		boolean failed;
+		final List<String> texts = new ArrayList<String>();
+		final List<String> compiled = new ArrayList<String>();
+	}
+
+	/** The levels requested and not built yet, by number */
+	private final Map<Integer, LevelFiles> requested = new HashMap<Integer, LevelFiles>();
+
+	@Override
+	public String levelText(int levelNumber) {
+		return ELevelText.getLevelText(levelNumber);
+	}
+
+	@Override
+	public Json.Object wavesJson(int levelNumber) {
+		Json.Object waves = EWaveText.getWaveControllerJson(levelNumber);
+		requestNextLevel(levelNumber);
+		return waves;
+	}
+
+	@Override
+	public byte[] compiledLevel(int levelNumber) {
+		return ResourceLoader.getCompiled(ELevelText.getCompiledLevelPath(levelNumber));
+	}
+
+	@Override
+	public byte[] compiledWaves(int levelNumber) {
+		byte[] waves = ResourceLoader.getCompiled(EWaveText.getCompiledWavesPath(levelNumber));
+		if (waves != null) {
+			requestNextLevel(levelNumber);
+		}
+		return waves;
+	}
+
+	@Override
+	public Json.Object towerJson(EFlavor flavor) {
+		return ETowerText.getTowerJsonByFlavor(flavor);
+	}
+
+	/**
+	 * A level which failed to load is requested again
+	 */
+	@Override
+	public boolean isLevelLoaded(int levelNumber) {
+		LevelFiles files = requested.get(levelNumber);
+		if (files != null && files.failed && files.pending == 0) {
+			releaseLevel(levelNumber);
+			files = null;
+		}
+		if (files == null) {
+			files = request(levelNumber);
+		}
+		return files.pending == 0 && !files.failed;
+	}
+
+	@Override
+	public void releaseLevel(int levelNumber) {
+		LevelFiles files = requested.remove(levelNumber);
+		if (files == null) {
+			return;
+		}
+		for (String path : files.texts) {
+			AssetRegistry.releaseText(path);
+		}
+		for (String path : files.compiled) {
+			AssetRegistry.releaseCompiled(path);
+		}
+	}
+
+	/**
+	 * Loads the next level while this one is played
+	 */
+	private void requestNextLevel(int levelNumber) {
+		if (levelNumber < NO_OF_LEVELZ) {
+			isLevelLoaded(levelNumber + 1);
+		}
+	}
+
+	private LevelFiles request(int levelNumber) {
+		LevelFiles files = new LevelFiles();
+		requested.put(levelNumber, files);
+		load(files, ELevelText.getCompiledLevelPath(levelNumber), ELevelText.getLevelPath(levelNumber));
+		load(files, EWaveText.getCompiledWavesPath(levelNumber), EWaveText.getWaveControllerPath(levelNumber));
+		return files;
+	}
+
+	/**
+	 * Loads the compiled file without blocking, or the JSON if there is no
+	 * compiled one, and holds it for the level
+	 */
+	private static void load(final LevelFiles files, final String compiledPath, final String jsonPath) {
+		ResourceLoader.loadCompiled(compiledPath, new Callback<byte[]>() {
+			@Override
+			public void onSuccess(byte[] result) {
+				AssetRegistry.retainCompiled(compiledPath);
+				files.compiled.add(compiledPath);
+				files.pending--;
+			}
+
+			@Override
+			public void onFailure(Throwable cause) {
+				ResourceLoader.loadText(jsonPath, new Callback<String>() {
+					@Override
+					public void onSuccess(String result) {
+						AssetRegistry.retainText(jsonPath);
+						files.texts.add(jsonPath);
+						files.pending--;
+					}
+
+					@Override
+					public void onFailure(Throwable cause) {
+						log().warn("Could not load " + jsonPath + ": " + cause.getMessage());
+						files.failed = true;
+						files.pending--;
+					}
+				});
+			}
+		});
+	}
+}
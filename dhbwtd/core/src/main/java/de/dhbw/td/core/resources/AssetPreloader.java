@@ -0,0 +1,191 @@
+/*  Copyright (C) 2013. All rights reserved.
+ *  Released under the terms of the GNU General Public License version 3 or later.
+ *
+ *  Contributors:
+ *  Jan-Christoph Klie - All
+ */
+
+package de.dhbw.td.core.resources;
+
+import static de.dhbw.td.core.util.GameConstants.TOWERS;
+import static playn.core.PlayN.log;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import playn.core.Image;
+import playn.core.util.Callback;
+import de.dhbw.td.core.util.EFlavor;
+
+/**
+ * Requests all images, the first level with its waves and the tower stats
+ * at once and counts how many of them arrived. Nothing blocks, the platform
+ * loads the assets in parallel while the game loop keeps running and shows
+ * the progress. Once done, the resource enums find everything in the
+ * {@link AssetRegistry}. The later levels are loaded while the game runs,
+ * see {@link AssetDataSource}.
+ */
+public class AssetPreloader {
+
+	private final List<Image> images;
+	private final List<String> retainedText = new ArrayList<String>();
+	private final List<String> retainedCompiled = new ArrayList<String>();
+
+	private int requested;
+	private int finished;
+	private int failed;
+
+	/**
+	 * Waits for the images of all resource enums
+	 */
+	public AssetPreloader() {
+		this(resourceImages());
+	}
+
+	/**
+	 * @param images the images to wait for, besides the tower stats and the
+	 *            first level
+	 */
+	public AssetPreloader(List<Image> images) {
+		this.images = images;
+	}
+
+	/**
+	 * Touching the enums requests their images
+	 */
+	private static List<Image> resourceImages() {
+		List<Image> images = new ArrayList<Image>();
+		for (ETileImage e : ETileImage.values()) {
+			images.add(e.image);
+		}
+		for (ETowerImage e : ETowerImage.values()) {
+			images.add(e.image);
+		}
+		for (EEnemyImage e : EEnemyImage.values()) {
+			images.add(e.image);
+		}
+		for (EHealthBarImage e : EHealthBarImage.values()) {
+			images.add(e.image);
+		}
+		for (EProjectileImage e : EProjectileImage.values()) {
+			images.add(e.image);
+		}
+		for (EHudImage e : EHudImage.values()) {
+			images.add(e.image);
+		}
+		for (EMenuImage e : EMenuImage.values()) {
+			images.add(e.image);
+		}
+		return images;
+	}
+
+	/**
+	 * Requests all assets, may be called only once
+	 */
+	public void start() {
+		for (Image image : images) {
+			watch(image);
+		}
+
+		for (EFlavor flavor : TOWERS) {
+			load(ETowerText.getTowerPathByFlavor(flavor));
+		}
+		loadCompiled(ELevelText.getCompiledLevelPath(1), ELevelText.getLevelPath(1));
+		loadCompiled(EWaveText.getCompiledWavesPath(1), EWaveText.getWaveControllerPath(1));
+	}
+
+	private void watch(Image image) {
+		requested++;
+		image.addCallback(new Callback<Image>() {
+			@Override
+			public void onSuccess(Image result) {
+				finished++;
+			}
+
+			@Override
+			public void onFailure(Throwable cause) {
+				failed(cause);
+			}
+		});
+	}
+
+	private void load(final String path) {
+		requested++;
+		ResourceLoader.loadText(path, new Callback<String>() {
+			@Override
+			public void onSuccess(String result) {
+				// Held until the game is built, so no file evicts another one
+				AssetRegistry.retainText(path);
+				retainedText.add(path);
+				finished++;
+			}
+
+			@Override
+			public void onFailure(Throwable cause) {
+				failed(cause);
+			}
+		});
+	}
+
+	/**
+	 * Loads the compiled level data, or the JSON if it is not compiled,
+	 * e.g. when the game is started without a build
+	 */
+	private void loadCompiled(final String path, final String jsonPath) {
+		requested++;
+		ResourceLoader.loadCompiled(path, new Callback<byte[]>() {
+			@Override
+			public void onSuccess(byte[] result) {
+				AssetRegistry.retainCompiled(path);
+				retainedCompiled.add(path);
+				finished++;
+			}
+
+			@Override
+			public void onFailure(Throwable cause) {
+				requested--;
+				load(jsonPath);
+			}
+		});
+	}
+
+	/**
+	 * A missing asset does not stop the loading, a missing level is
+	 * requested again when it is played, see {@link AssetDataSource}
+	 */
+	private void failed(Throwable cause) {
+		finished++;
+		failed++;
+		log().warn("Could not preload an asset: " + cause.getMessage());
+	}
+
+	/**
+	 * Lets go of the preloaded level data, call it once the game is built from it
+	 */
+	public void release() {
+		for (String path : retainedText) {
+			AssetRegistry.releaseText(path);
+		}
+		for (String path : retainedCompiled) {
+			AssetRegistry.releaseCompiled(path);
+		}
+		retainedText.clear();
+		retainedCompiled.clear();
+	}
+
+	/**
+	 * @return the share of the assets which arrived or failed, in [0, 1]
+	 */
+	public float progress() {
+		return requested == 0 ? 0 : (float) finished / requested;
+	}
+
+	/**
+	 * @return true if all requested assets arrived or failed
+	 */
+	public boolean isDone() {
+		return requested > 0 && finished == requested;
+	}
+
+	public int failed() { return failed; }
+}
@@ -0,0 +1,86 @@
+/*  Copyright (C) 2013. All rights reserved.
+ *  Released under the terms of the GNU General Public License version 3 or later.
+ *
+ *  Contributors:
+ *  Jan-Christoph Klie - All
+ */
+
+package de.dhbw.td.core.resources;
+
+import static de.dhbw.td.core.util.GameConstants.CACHED_DATA_FILES;
+import playn.core.Image;
+
+/**
+ * The assets which are resident, by path. Every asset is requested from the
+ * platform only once while it is resident, no matter if the preloader or a
+ * resource enum asks first.
+ *
+ * Images stay resident as long as they are held, the originals of the
+ * images moved into the {@link TextureAtlas} are dropped. The JSON texts and
+ * compiled levels are only needed while a level is built, so only the few
+ * most recently used files are kept, see
+ * {@link de.dhbw.td.core.util.GameConstants#CACHED_DATA_FILES}.
+ */
+public class AssetRegistry {
+
+	private static final AssetCache<Image> images = new AssetCache<Image>(0);
+	private static final AssetCache<String> texts = new AssetCache<String>(CACHED_DATA_FILES);
+	private static final AssetCache<byte[]> compiled = new AssetCache<byte[]>(CACHED_DATA_FILES);
+
+	private AssetRegistry() {
+		throw new RuntimeException("I shall not be initialized");
+	}
+
+	/**
+	 * @return the image requested for the path, it may still be loading; null if it is not resident
+	 */
+	public static Image image(String path) {
+		return images.get(path);
+	}
+
+	/**
+	 * @return the text of the path, null if it is not resident
+	 */
+	public static String text(String path) {
+		return texts.get(path);
+	}
+
+	/**
+	 * @return the compiled level or waves of the path, null if they are not resident
+	 */
+	public static byte[] compiled(String path) {
+		return compiled.get(path);
+	}
+
+	static Image retainImage(String path, Image image) {
+		return images.retain(path, image);
+	}
+
+	static void releaseImage(Image image) {
+		images.releaseAsset(image);
+	}
+
+	static void putText(String path, String text) {
+		texts.put(path, text);
+	}
+
+	static String retainText(String path) {
+		return texts.retain(path);
+	}
+
+	static void releaseText(String path) {
+		texts.release(path);
+	}
+
+	static void putCompiled(String path, byte[] bytes) {
+		compiled.put(path, bytes);
+	}
+
+	static byte[] retainCompiled(String path) {
+		return compiled.retain(path);
+	}
+
+	static void releaseCompiled(String path) {
+		compiled.release(path);
+	}
+}
@@ -21,7 +21,7 @@ public enum EEnemyImage {
 	WIWI_ENEMY("wiwi.png"),
 	ENDBOSS("endboss.png");
 	
-	private Image image;
+	Image image;
 	
 	public static Image getEnemyImage(EFlavor enemyType) {
 		switch (enemyType) {
@@ -7,8 +7,8 @@
 
 package de.dhbw.td.core.resources;
 
+import static de.dhbw.td.core.util.GameConstants.COMPILED_EXTENSION;
 import static de.dhbw.td.core.util.GameConstants.PATH_LEVELS;
-import playn.core.Json;
 
 
 public enum ELevelText {
@@ -20,24 +20,56 @@ public enum ELevelText {
 	LEVEL5("level5.json"),
 	LEVEL6("level6.json");
 	
-	public final Json.Object parsedJson;
+	private final String path;
+	private final String compiledPath;
 	
-	public static Json.Object getLevelJson(int levelNumber) {
+	/**
+	 * @return the JSON text of the level, it is read by the {@link de.dhbw.td.core.level.LevelFactory}
+	 *         without building a Json tree
+	 */
+	public static String getLevelText(int levelNumber) {
+		return forLevel(levelNumber).text();
+	}
+	
+	/**
+	 * @return the asset path of the level, loading nothing
+	 */
+	public static String getLevelPath(int levelNumber) {
+		return forLevel(levelNumber).path;
+	}
+	
+	/**
+	 * @return the asset path of the level compiled at build time, loading nothing
+	 */
+	public static String getCompiledLevelPath(int levelNumber) {
+		return forLevel(levelNumber).compiledPath;
+	}
+	
+	private static ELevelText forLevel(int levelNumber) {
 		switch (levelNumber) {
-		case 1: return LEVEL1.parsedJson;
-		case 2: return LEVEL2.parsedJson;
-		case 3: return LEVEL3.parsedJson;
-		case 4: return LEVEL4.parsedJson;
-		case 5: return LEVEL5.parsedJson;
-		case 6: return LEVEL6.parsedJson;
+		case 1: return LEVEL1;
+		case 2: return LEVEL2;
+		case 3: return LEVEL3;
+		case 4: return LEVEL4;
+		case 5: return LEVEL5;
+		case 6: return LEVEL6;
 		default:
 			throw new IllegalArgumentException("There is no level with number " + levelNumber);
 		}
 	}
 	
-	ELevelText(String pathToImage) {
-		parsedJson = ResourceLoader.getJSON(PATH_LEVELS + pathToImage);
+	ELevelText(String pathToText) {
+		path = PATH_LEVELS + pathToText;
+		compiledPath = PATH_LEVELS + pathToText.replace(".json", COMPILED_EXTENSION);
 	}
 	
+	/**
+	 * The level is loaded when it is used and not kept by the enum, so
+	 * merely referencing this enum does not need a running platform and
+	 * the levels played before can be dropped, see {@link AssetRegistry}
+	 */
+	private String text() {
+		return ResourceLoader.getText(path);
+	}
 
 }
@@ -15,7 +15,7 @@ public enum EProjectileImage {
 	LASER("laser.png"),
 	GENERIC("generic.png");
 	
-	public final Image image;
+	public Image image;
 	
 	EProjectileImage(String pathToImage) {
 		image = ResourceLoader.getImage(PATH_PROJETILES + pathToImage);
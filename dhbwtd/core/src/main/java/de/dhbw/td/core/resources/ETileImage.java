@@ -8,6 +8,7 @@ package de.dhbw.td.core.resources;
 
 import static de.dhbw.td.core.util.GameConstants.PATH_TILES;
 import playn.core.Image;
+import de.dhbw.td.core.level.ETileType;
 
 public enum ETileImage {
 	
@@ -23,7 +24,28 @@ public enum ETileImage {
 	GRID("grid.bmp"),
 	WHITE("white.bmp");
 	
-	public final Image image;
+	public Image image;
+	
+	/**
+	 * @param tile The type of the tile
+	 * @return The image the tile is drawn with
+	 */
+	public static Image forTile(ETileType tile) {
+		switch (tile) {
+		case GRID: return GRID.image;
+		case WHITE: return WHITE.image;
+		case EDGE_LEFT_BOTTOM: return EDGE_LEFT_BOTTOM.image;
+		case EDGE_LEFT_TOP: return EDGE_LEFT_TOP.image;
+		case EDGE_RIGHT_BOTTOM: return EDGE_RIGHT_BOTTOM.image;
+		case EDGE_RIGHT_TOP: return EDGE_RIGHT_TOP.image;
+		case PATH_EMPTY: return PATH_INTERSECTION.image;
+		case PATH_HORIZONTAL: return PATH_HORIZONTAL.image;
+		case PATH_VERTICAL: return PATH_VERTICAL.image;
+		case PATH_START: return START.image;
+		case PATH_END: return FINISH.image;
+		default: throw new IllegalArgumentException("No image for tile " + tile);
+		}
+	}
 	
 	ETileImage(String pathToImage) {
 		image = ResourceLoader.getImage(PATH_TILES + pathToImage);
@@ -8,6 +8,10 @@
 package de.dhbw.td.core.resources;
 
 import static de.dhbw.td.core.util.GameConstants.PATH_TOWERS;
+
+import java.util.ArrayList;
+import java.util.List;
+
 import playn.core.Image;
 import de.dhbw.td.core.util.EFlavor;
 import de.dhbw.td.core.util.GameConstants;
@@ -48,20 +52,47 @@ public enum ETowerImage {
 	WIWI_LVL5("wiwi_lvl5.png"),
 	WIWI_LVL6("wiwi_lvl6.png");
 		
-	private final Image image;
+	Image image;
+	
+	/** The images of every flavor by level, so drawing needs no lookup by name */
+	private static final ETowerImage[][] BY_FLAVOR_AND_LEVEL = new ETowerImage[EFlavor.values().length][];
+	
+	static {
+		for (EFlavor flavor : EFlavor.values()) {
+			if (flavor == EFlavor.ENDBOSS) {
+				continue;
+			}
+			String prefix = GameConstants.mapFlavorToImagePrefix(flavor) + "_LVL";
+			List<ETowerImage> levels = new ArrayList<ETowerImage>();
+			for (ETowerImage towerImage : values()) {
+				if (towerImage.name().startsWith(prefix)) {
+					int level = Integer.parseInt(towerImage.name().substring(prefix.length()));
+					while (levels.size() < level) {
+						levels.add(null);
+					}
+					levels.set(level - 1, towerImage);
+				}
+			}
+			BY_FLAVOR_AND_LEVEL[flavor.ordinal()] = levels.toArray(new ETowerImage[levels.size()]);
+		}
+	}
 
 	ETowerImage(String pathToImage) {
 		image = ResourceLoader.getImage(PATH_TOWERS + pathToImage);
 	}
 	
+	/**
+	 * @param flavor the flavor of the tower
+	 * @param levelNumber the level of the tower, starting at 1
+	 * @return the image the tower is drawn with
+	 * @throws IllegalArgumentException if there is no image for the flavor and level
+	 */
 	public static Image getTowerImage(EFlavor flavor, int levelNumber) {
-		ETowerImage towerImage;
-		String prefix = GameConstants.mapFlavorToImagePrefix(flavor);
-		String enumName = String.format("%s_LVL%d", prefix, levelNumber);
-		towerImage = ETowerImage.valueOf(enumName);
-		return towerImage.image;
+		ETowerImage[] levels = BY_FLAVOR_AND_LEVEL[flavor.ordinal()];
+		if (levels == null || levelNumber < 1 || levelNumber > levels.length || levels[levelNumber - 1] == null) {
+			throw new IllegalArgumentException("No image for " + flavor + " tower level " + levelNumber);
+		}
+		return levels[levelNumber - 1].image;
 	}
-	
-
 
 }
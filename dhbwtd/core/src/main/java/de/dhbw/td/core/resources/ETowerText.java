@@ -19,15 +19,25 @@ public enum ETowerText {
 	ECONOMICS("wiwi.json"), 
 	SOCIAL("social.json");
 	
-	private Json.Object parsedJson;
+	private final String path;
 	
 	public static Json.Object getTowerJsonByFlavor(EFlavor flavor) {
-		ETowerText towerText = ETowerText.valueOf(flavor.name());
-		return towerText.parsedJson;
+		return ETowerText.valueOf(flavor.name()).json();
 	}
 	
-	ETowerText(String pathToImage) {
-		parsedJson = ResourceLoader.getJSON(PATH_TOWERS + pathToImage);
+	/**
+	 * @return the asset path of the tower stats, loading nothing
+	 */
+	public static String getTowerPathByFlavor(EFlavor flavor) {
+		return ETowerText.valueOf(flavor.name()).path;
+	}
+	
+	ETowerText(String pathToText) {
+		path = PATH_TOWERS + pathToText;
+	}
+	
+	private Json.Object json() {
+		return ResourceLoader.getJSON(path);
 	}
 
 }
@@ -6,6 +6,7 @@
  */
 package de.dhbw.td.core.resources;
 
+import static de.dhbw.td.core.util.GameConstants.COMPILED_EXTENSION;
 import static de.dhbw.td.core.util.GameConstants.PATH_WAVES;
 import playn.core.Json;
 
@@ -18,23 +19,46 @@ public enum EWaveText {
 	WAVE_5("waves5.json"),
 	WAVE_6("waves6.json");
 	
-	private Json.Object parsedJson;
+	private final String path;
+	private final String compiledPath;
 	
 	public static Json.Object getWaveControllerJson(int levelNumber) {
+		return forLevel(levelNumber).json();
+	}
+	
+	/**
+	 * @return the asset path of the waves, loading nothing
+	 */
+	public static String getWaveControllerPath(int levelNumber) {
+		return forLevel(levelNumber).path;
+	}
+	
+	/**
+	 * @return the asset path of the waves compiled at build time, loading nothing
+	 */
+	public static String getCompiledWavesPath(int levelNumber) {
+		return forLevel(levelNumber).compiledPath;
+	}
+	
+	private static EWaveText forLevel(int levelNumber) {
 		switch (levelNumber) {
-		case 1: return WAVE_1.parsedJson;
-		case 2: return WAVE_2.parsedJson;
-		case 3: return WAVE_3.parsedJson;
-		case 4: return WAVE_4.parsedJson;
-		case 5: return WAVE_5.parsedJson;
-		case 6: return WAVE_6.parsedJson;
+		case 1: return WAVE_1;
+		case 2: return WAVE_2;
+		case 3: return WAVE_3;
+		case 4: return WAVE_4;
+		case 5: return WAVE_5;
+		case 6: return WAVE_6;
 		default: throw new IllegalArgumentException("There is no waves with number " + levelNumber);
 		}
 	}
 	
-	EWaveText(String pathToImage) {
-		parsedJson = ResourceLoader.getJSON(PATH_WAVES + pathToImage);
+	EWaveText(String pathToText) {
+		path = PATH_WAVES + pathToText;
+		compiledPath = PATH_WAVES + pathToText.replace(".json", COMPILED_EXTENSION);
+	}
+	
+	private Json.Object json() {
+		return ResourceLoader.getJSON(path);
 	}
-
 
 }
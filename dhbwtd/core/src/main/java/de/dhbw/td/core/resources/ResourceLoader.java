@@ -11,11 +11,13 @@ package de.dhbw.td.core.resources;
 
 import static playn.core.PlayN.assets;
 import static playn.core.PlayN.json;
+import static playn.core.PlayN.log;
 import playn.core.Image;
 import playn.core.Json;
 import playn.core.Sound;
 import playn.core.json.JsonParserException;
 import playn.core.util.Callback;
+import de.dhbw.td.core.util.Base64;
 
 public class ResourceLoader {
 	
@@ -24,44 +26,141 @@ public class ResourceLoader {
 	}
 	
 	/**
-	 * Loads and parses an JSON resource
+	 * Parses an JSON resource which was loaded before. Only the text is
+	 * kept, see {@link #getText(String)}, the Json is parsed on every call.
 	 * 
 	 * @param path relative file system path to the requested resource
 	 * @return
-	 * @throws RuntimeException if there is an error loading or parsing the JSON resource
+	 * @throws RuntimeException if the JSON resource is not loaded or cannot be parsed
 	 */
 	public static Json.Object getJSON(String path) {
-		
-		Json.Object json;
-		
+		String text = getText(path);
 		try {
-			json = json().parse(assets().getTextSync(path));
+			return json().parse(text);
 		} catch (JsonParserException jpe) {
 			// TODO: handle exception
 			throw new RuntimeException("Could not parse JSON at " + path + ". " + jpe.getMessage());
-		} 
-		catch (Exception e) {
-			// TODO: handle exception
-			throw new RuntimeException("Could not load JSON at " + path + ". " + e.getMessage());
 		}
-		return json;
 	}
 	
 	/**
-	 * Loads an Image resource
+	 * Returns a text resource which was loaded before, e.g. a level which is
+	 * parsed without building a Json tree. Nothing is loaded here: waiting
+	 * for the platform would block the game loop, and the browser cannot
+	 * load synchronously at all.
+	 * 
+	 * @param path relative file system path to the requested resource
+	 * @return
+	 * @throws RuntimeException if the text resource is not loaded, see {@link #loadText(String, Callback)}
+	 */
+	public static String getText(String path) {
+		String text = AssetRegistry.text(path);
+		if (text == null) {
+			throw new RuntimeException("The text at " + path + " is not loaded");
+		}
+		return text;
+	}
+	
+	/**
+	 * Loads a text resource without blocking. The text is kept, so
+	 * {@link #getText(String)} and {@link #getJSON(String)} return it
+	 * without loading again.
+	 * 
+	 * @param path relative file system path to the requested resource
+	 * @param callback notified on the game thread once the text is loaded or failed to load
+	 */
+	public static void loadText(final String path, final Callback<String> callback) {
+		String loaded = AssetRegistry.text(path);
+		if (loaded != null) {
+			callback.onSuccess(loaded);
+			return;
+		}
+		
+		assets().getText(path, new Callback<String>() {
+			@Override
+			public void onSuccess(String text) {
+				AssetRegistry.putText(path, text);
+				callback.onSuccess(text);
+			}
+			
+			@Override
+			public void onFailure(Throwable cause) {
+				callback.onFailure(cause);
+			}
+		});
+	}
+	
+	/**
+	 * Returns a level or waves compiled at build time which were loaded
+	 * before. Unlike the JSON, the compiled files only exist after a build,
+	 * so a missing file is no error.
+	 * 
+	 * @param path relative file system path to the requested resource
+	 * @return the compiled bytes, null if they are not loaded
+	 * @see #loadCompiled(String, Callback)
+	 */
+	public static byte[] getCompiled(String path) {
+		return AssetRegistry.compiled(path);
+	}
+	
+	/**
+	 * Loads a level or waves compiled at build time without blocking
+	 * 
+	 * @param path relative file system path to the requested resource
+	 * @param callback notified on the game thread once the file is decoded or failed to load
+	 */
+	public static void loadCompiled(final String path, final Callback<byte[]> callback) {
+		byte[] loaded = AssetRegistry.compiled(path);
+		if (loaded != null) {
+			callback.onSuccess(loaded);
+			return;
+		}
+		
+		assets().getText(path, new Callback<String>() {
+			@Override
+			public void onSuccess(String text) {
+				byte[] compiled;
+				try {
+					compiled = Base64.decode(text);
+				} catch (IllegalArgumentException iae) {
+					callback.onFailure(new RuntimeException("Could not decode " + path + ". " + iae.getMessage()));
+					return;
+				}
+				AssetRegistry.putCompiled(path, compiled);
+				callback.onSuccess(compiled);
+			}
+			
+			@Override
+			public void onFailure(Throwable cause) {
+				callback.onFailure(cause);
+			}
+		});
+	}
+	
+	/**
+	 * Requests an Image resource without blocking, the image may still be
+	 * loading when it is returned. Every call holds the image, it stays
+	 * resident and is not requested again until all holders released it.
+	 * A failure is only logged, throwing from the callback would keep the
+	 * callbacks added after this one from being notified, e.g. the
+	 * {@link AssetPreloader} waiting for the image.
 	 * 
 	 * @param path relative file system path to the requested resource
 	 * @return
-	 * @throws RuntimeException if there is an error loading the image resource
 	 */
-	public static Image getImage(String path) {
-		Image img = assets().getImageSync(path);
+	public static Image getImage(final String path) {
+		Image img = AssetRegistry.image(path);
+		if (img != null) {
+			return AssetRegistry.retainImage(path, img);
+		}
+		img = assets().getImage(path);
+		AssetRegistry.retainImage(path, img);
 		img.addCallback(new Callback<Image>(){
 			@Override
 			public void onSuccess(Image result) {/* NOOP */}
 			@Override
 			public void onFailure(Throwable cause) {
-				throw new RuntimeException("Could not load image resource at " + cause.getMessage());
+				log().warn("Could not load image resource at " + path + ". " + cause.getMessage());
 			}
 		});
 		return img;
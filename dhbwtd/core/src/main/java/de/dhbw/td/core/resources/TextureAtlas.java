@@ -0,0 +1,181 @@
+/*  Copyright (C) 2013. All rights reserved.
+ *  Released under the terms of the GNU General Public License version 3 or later.
+ *
+ *  Contributors:
+ *  Jan-Christoph Klie - All
+ */
+
+package de.dhbw.td.core.resources;
+
+import static playn.core.PlayN.graphics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import playn.core.CanvasImage;
+import playn.core.Image;
+
+/**
+ * Packs the small game images (tiles, towers, enemies, health bars,
+ * projectiles and the HUD icons) into a few large pages and replaces every
+ * image of the resource enums with its region on a page. Drawing sub-regions
+ * of one texture lets the GL backends batch the sprites of a frame instead
+ * of switching the texture for nearly every draw call.
+ */
+public class TextureAtlas {
+
+	/** Width and maximum height of a page */
+	static final int PAGE_SIZE = 1024;
+
+	/** Empty pixels around every image, so filtering never samples a neighbour */
+	static final int PADDING = 2;
+
+	private static boolean packed;
+
+	private TextureAtlas() {
+		throw new RuntimeException("I shall not be initialized");
+	}
+
+	/**
+	 * Moves the images of the resource enums into the atlas. Has to be called
+	 * before any UI component grabs an image, and only packs if all images
+	 * have been loaded, otherwise the separate images are kept.
+	 *
+	 * @return true if the images are drawn from the atlas
+	 */
+	public static boolean pack() {
+		if (packed) {
+			return true;
+		}
+
+		List<Image> images = new ArrayList<Image>();
+		for (ETileImage e : ETileImage.values()) {
+			images.add(e.image);
+		}
+		for (ETowerImage e : ETowerImage.values()) {
+			images.add(e.image);
+		}
+		for (EEnemyImage e : EEnemyImage.values()) {
+			images.add(e.image);
+		}
+		for (EHealthBarImage e : EHealthBarImage.values()) {
+			images.add(e.image);
+		}
+		for (EProjectileImage e : EProjectileImage.values()) {
+			images.add(e.image);
+		}
+		for (EHudImage e : EHudImage.values()) {
+			images.add(e.image);
+		}
+
+		for (Image img : images) {
+			if (!img.isReady()) {
+				return false;
+			}
+		}
+
+		Map<Image, Image> regions = packImages(images);
+
+		for (ETileImage e : ETileImage.values()) {
+			e.image = regions.get(e.image);
+		}
+		for (ETowerImage e : ETowerImage.values()) {
+			e.image = regions.get(e.image);
+		}
+		for (EEnemyImage e : EEnemyImage.values()) {
+			e.image = regions.get(e.image);
+		}
+		for (EHealthBarImage e : EHealthBarImage.values()) {
+			e.image = regions.get(e.image);
+		}
+		for (EProjectileImage e : EProjectileImage.values()) {
+			e.image = regions.get(e.image);
+		}
+		for (EHudImage e : EHudImage.values()) {
+			e.image = regions.get(e.image);
+		}
+
+		// Nobody draws the originals any more, drop them
+		for (Image img : images) {
+			if (regions.get(img) != img) {
+				AssetRegistry.releaseImage(img);
+			}
+		}
+
+		packed = true;
+		return true;
+	}
+
+	/**
+	 * Places the images in rows sorted by height, a new page is started when
+	 * a page is full. Images too large for a page keep their own texture.
+	 *
+	 * @param images the images to pack, all of them loaded
+	 * @return the region of every image, keyed by the image
+	 */
+	private static Map<Image, Image> packImages(List<Image> images) {
+		List<Image> sorted = new ArrayList<Image>(images);
+		Collections.sort(sorted, new Comparator<Image>() {
+			@Override
+			public int compare(Image a, Image b) {
+				return Float.compare(b.height(), a.height());
+			}
+		});
+
+		Map<Image, Image> regions = new IdentityHashMap<Image, Image>();
+		List<Image> pageImages = new ArrayList<Image>();
+		List<int[]> pagePositions = new ArrayList<int[]>();
+		int x = 0, y = 0, rowHeight = 0;
+
+		for (Image img : sorted) {
+			if (regions.containsKey(img)) {
+				continue;
+			}
+			int w = (int) Math.ceil(img.width()) + 2 * PADDING;
+			int h = (int) Math.ceil(img.height()) + 2 * PADDING;
+			if (w > PAGE_SIZE || h > PAGE_SIZE) {
+				regions.put(img, img);
+				continue;
+			}
+
+			if (x + w > PAGE_SIZE) {
+				x = 0;
+				y += rowHeight;
+				rowHeight = 0;
+			}
+			if (y + h > PAGE_SIZE) {
+				drawPage(pageImages, pagePositions, y + rowHeight, regions);
+				x = y = rowHeight = 0;
+			}
+
+			pageImages.add(img);
+			pagePositions.add(new int[] { x + PADDING, y + PADDING });
+			x += w;
+			rowHeight = Math.max(rowHeight, h);
+		}
+		drawPage(pageImages, pagePositions, y + rowHeight, regions);
+
+		return regions;
+	}
+
+	private static void drawPage(List<Image> images, List<int[]> positions, int height, Map<Image, Image> regions) {
+		if (images.isEmpty()) {
+			return;
+		}
+
+		CanvasImage page = graphics().createImage(PAGE_SIZE, height);
+		for (int i = 0; i < images.size(); i++) {
+			Image img = images.get(i);
+			int[] pos = positions.get(i);
+			page.canvas().drawImage(img, pos[0], pos[1]);
+			regions.put(img, page.subImage(pos[0], pos[1], img.width(), img.height()));
+		}
+
+		images.clear();
+		positions.clear();
+	}
+}
@@ -18,6 +18,7 @@ import playn.core.Keyboard.TypedEvent;
 import playn.core.Sound;
 import de.dhbw.td.core.game.EGameStatus;
 import de.dhbw.td.core.game.GameState;
+import de.dhbw.td.core.resources.ResourceLoader;
 import de.dhbw.td.core.ui.Button;
 import de.dhbw.td.core.ui.HUD;
 
@@ -40,7 +41,7 @@ public class CheatModule implements Keyboard.Listener{
 		
 		buffer = new StringBuffer(MAX_BUFFER_SIZE);
 		
-		king = assets().getImageSync("tower/king.png");
+		king = ResourceLoader.getImage("tower/king.png");
 		
 		
 	}
@@ -1,6 +1,6 @@
 /*  Copyright (C) 2013. All rights reserved.
  *  Released under the terms of the GNU General Public License version 3 or later.
- *  
+ *
  *  Contributors:
  *  Lukas Berg, Matthias Kehl - All
  *  Jan-Christoph Klie - Refactor
@@ -8,42 +8,86 @@
 
 package de.dhbw.td.core.tower;
 
-import pythagoras.d.Vector;
 import pythagoras.i.Point;
 import de.dhbw.td.core.enemies.Enemy;
 import de.dhbw.td.core.game.IUpdateable;
 import de.dhbw.td.core.util.EFlavor;
 
 /**
- * Projectile is created by a tower when it shoots at an enemy. 
+ * Projectile is created by a tower when it shoots at an enemy.
  * It flies to the given target and deals damage
  *
+ * The flight is computed on primitive coordinates only, updating a
+ * projectile does not allocate. Projectiles fired by towers are recycled
+ * by the {@link ProjectilePool}.
  */
 public class Projectile implements IUpdateable {
-	
-	private final int damage;
-	private final double speed;
-	private final Enemy target;
-	private final EFlavor flavor;
-	
+
+	private int damage;
+	private double speed;
+	private Enemy target;
+	private EFlavor flavor;
+
 	private boolean hit;
-	
-	private Point currentPosition;
-	
+
+	private double x;
+	private double y;
+	private double prevX;
+	private double prevY;
+	private double angle;
+
+	/**
+	 * Creates a projectile which waits in the {@link ProjectilePool} until it is launched
+	 */
+	Projectile() {
+		hit = true;
+	}
+
 	/**
 	 * Creates a new projectile with the given parameters
 	 * @param position The start position
 	 * @param damage The damage the projectile deals
 	 * @param flavor The flavor
-	 * @param speed The speed 
+	 * @param speed The speed
 	 * @param target The target
 	 */
 	public Projectile(Point position, int damage, EFlavor flavor, double speed, Enemy target) {
-		this.currentPosition = new Point(position);
+		this(position.x, position.y, damage, flavor, speed, target);
+	}
+
+	/**
+	 * Creates a new projectile with the given parameters
+	 * @param x The x coordinate of the start position
+	 * @param y The y coordinate of the start position
+	 * @param damage The damage the projectile deals
+	 * @param flavor The flavor
+	 * @param speed The speed
+	 * @param target The target
+	 */
+	public Projectile(int x, int y, int damage, EFlavor flavor, double speed, Enemy target) {
+		launch(x, y, damage, flavor, speed, target);
+	}
+
+	/**
+	 * (Re)initializes this projectile as if it was newly created
+	 */
+	void launch(int x, int y, int damage, EFlavor flavor, double speed, Enemy target) {
+		this.x = this.prevX = x;
+		this.y = this.prevY = y;
 		this.damage = damage;
 		this.flavor = flavor;
 		this.speed = speed;
 		this.target = target;
+		this.hit = false;
+		this.angle = Math.atan2(target.centerY() - y, target.centerX() - x);
+	}
+
+	/**
+	 * Drops the reference to the target when the projectile is recycled
+	 */
+	void release() {
+		hit = true;
+		target = null;
 	}
 
 	@Override
@@ -53,21 +97,27 @@ public class Projectile implements IUpdateable {
 			hit = true;
 			return;
 		}
-		
-		//Calculates the move vector
-		Vector vector = vector();
-		vector = vector.scale(speed / vector.length());
-		vector.set(vector.x * delta / 1000, vector.y * delta / 1000);
-		
+
+		prevX = x;
+		prevY = y;
+
+		//Calculates the distance to the target and the length of this step
+		double dx = target.centerX() - x;
+		double dy = target.centerY() - y;
+		double distance = Math.sqrt(dx * dx + dy * dy);
+		double step = speed * delta / 1000;
+		angle = Math.atan2(dy, dx);
+
 		//Check if projectile will hit the target, otherwies move the projectile
-		if (enemyWasHit(vector)) {
+		if (enemyWasHit(distance, step)) {
 			hit = true;
 			target.takeDamage(calcDamage(damage));
 		} else {
-			currentPosition.translate((int) vector.x, (int) vector.y);
+			x += dx * step / distance;
+			y += dy * step / distance;
 		}
 	}
-	
+
 	/**
 	 * Calculates the damage the projectile deals. If projectile and target
 	 * has the same flavor damage is doubled
@@ -77,24 +127,15 @@ public class Projectile implements IUpdateable {
 	private int calcDamage(int damage) {
 		return flavor == target.enemyType() ? 2 * damage : damage;
 	}
-	
-	/**
-	 * Checks if the target was hit by the projectile
-	 * @param v The vector from the projectile to the target
-	 * @return True if target was hit otherwise false
-	 */
-	private boolean enemyWasHit(Vector v) {
-		return Math.abs(target.center().x() - currentPosition.x()) <= Math.abs(v.x) &&
-				Math.abs(target.center().y() - currentPosition.y()) <= Math.abs(v.y);
-	}
 
 	/**
-	 * Calculates vector between target and current position
-	 * @return The calculated vector
+	 * Checks if the target is reached within the next step
+	 * @param distance The distance from the projectile to the target
+	 * @param step The distance the projectile flies in this update
+	 * @return True if target was hit otherwise false
 	 */
-	private Vector vector() {
-		return new Vector(target.center().x() - currentPosition.x(), 
-				target.center().y() - currentPosition.y());
+	private boolean enemyWasHit(double distance, double step) {
+		return distance <= step;
 	}
 
 	/**
@@ -104,9 +145,12 @@ public class Projectile implements IUpdateable {
 	public boolean hasHit() {
 		return hit;
 	}
-	
-	public int x() { return currentPosition.x; }
-	public int y() { return currentPosition.y; }
-	public double angle() { return vector().angle(); }
+
+	public int x() { return (int) x; }
+	public int y() { return (int) y; }
+	public float renderX(float alpha) { return (float) (prevX + (x - prevX) * alpha); }
+	public float renderY(float alpha) { return (float) (prevY + (y - prevY) * alpha); }
+	/** The direction to the target as of the last update, in radians */
+	public double angle() { return angle; }
 
 }
@@ -0,0 +1,118 @@
+/*  Copyright (C) 2013. All rights reserved.
+ *  Released under the terms of the GNU General Public License version 3 or later.
+ *
+ *  Contributors:
+ *  Jan-Christoph Klie - All
+ */
+
+package de.dhbw.td.core.tower;
+
+import java.util.Arrays;
+
+import de.dhbw.td.core.enemies.Enemy;
+import de.dhbw.td.core.game.IUpdateable;
+import de.dhbw.td.core.util.EFlavor;
+
+/**
+ * Game wide pool of projectiles shared by all towers. The live projectiles
+ * are kept densely at the front of the slot array; a projectile which hits
+ * is swapped behind the last live one and reused by the next shot. The
+ * projectiles of the initial capacity are created up front, so firing does
+ * not allocate unless more projectiles are in flight than ever before.
+ */
+public class ProjectilePool implements IUpdateable {
+
+	private static final int INITIAL_CAPACITY = 32;
+
+	private Projectile[] slots;
+	private int size;
+
+	public ProjectilePool() {
+		slots = new Projectile[INITIAL_CAPACITY];
+		for (int i = 0; i < slots.length; i++) {
+			slots[i] = new Projectile();
+		}
+	}
+
+	/**
+	 * Fires a projectile, reusing a recycled one if possible
+	 *
+	 * @param x The x coordinate of the start position
+	 * @param y The y coordinate of the start position
+	 * @param damage The damage the projectile deals
+	 * @param flavor The flavor
+	 * @param speed The speed
+	 * @param target The target
+	 * @return the launched projectile
+	 */
+	public Projectile spawn(int x, int y, int damage, EFlavor flavor, double speed, Enemy target) {
+		if (size == slots.length) {
+			slots = Arrays.copyOf(slots, slots.length * 2);
+		}
+
+		Projectile p = slots[size];
+		if (p == null) {
+			p = new Projectile(x, y, damage, flavor, speed, target);
+			slots[size] = p;
+		} else {
+			p.launch(x, y, damage, flavor, speed, target);
+		}
+		size++;
+		return p;
+	}
+
+	/**
+	 * Moves all live projectiles and recycles the ones which have hit
+	 *
+	 * @param delta The time passed since the last update
+	 */
+	@Override
+	public void update(double delta) {
+		int i = 0;
+		while (i < size) {
+			Projectile p = slots[i];
+			p.update(delta);
+
+			if (p.hasHit()) {
+				recycle(i);
+			} else {
+				i++;
+			}
+		}
+	}
+
+	/**
+	 * Swaps the projectile in the given slot behind the last live one
+	 */
+	private void recycle(int i) {
+		int last = size - 1;
+		Projectile p = slots[i];
+		slots[i] = slots[last];
+		slots[last] = p;
+		p.release();
+		size = last;
+	}
+
+	/**
+	 * Recycles all projectiles
+	 */
+	public void clear() {
+		for (int i = 0; i < size; i++) {
+			slots[i].release();
+		}
+		size = 0;
+	}
+
+	/**
+	 * @param i index in [0, size())
+	 * @return the live projectile with the given index
+	 */
+	public Projectile get(int i) {
+		if (i < 0 || i >= size) {
+			throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + size);
+		}
+		return slots[i];
+	}
+
+	public int size() { return size; }
+}
@@ -11,11 +11,10 @@ package de.dhbw.td.core.tower;
 import static de.dhbw.td.core.util.GameConstants.PROJECTILE_SPEED;
 import static de.dhbw.td.core.util.GameConstants.TILE_SIZE;
 
-import java.util.LinkedList;
-import java.util.List;
-
 import pythagoras.i.Point;
+import pythagoras.i.Points;
 import de.dhbw.td.core.enemies.Enemy;
+import de.dhbw.td.core.enemies.EnemyGrid;
 import de.dhbw.td.core.game.IUpdateable;
 import de.dhbw.td.core.util.EFlavor;
 
@@ -39,9 +38,9 @@ public class Tower implements IUpdateable {
 	private boolean hasShot;
 	
 	private Enemy target;
-	private List<Enemy> enemies = new LinkedList<Enemy>();
-	
-	private List<Projectile> projectiles = new LinkedList<Projectile>();
+	/** Shared by all towers, set by the game state before the first update */
+	private EnemyGrid enemyGrid;
+	private ProjectilePool projectiles;
 	
 	public Tower(EFlavor flavor, Point position, TowerLevel[] levels, double cadenza) {
 		this.position = new Point(position);
@@ -71,10 +70,36 @@ public class Tower implements IUpdateable {
 		return levels[level];
 	}
 	
-	public void setEnemies(List<Enemy> enemies) {
-		this.enemies = enemies == null ? new LinkedList<Enemy>() : enemies;
+	/**
+	 * Sets the spatial index the tower searches its targets in. It is
+	 * shared by all towers and rebuilt by the game state every tick.
+	 * @param enemyGrid The grid of the enemies currently on the screen
+	 * @throws IllegalArgumentException if the grid is null
+	 */
+	public void setEnemyGrid(EnemyGrid enemyGrid) {
+		if (enemyGrid == null) {
+			throw new IllegalArgumentException("A tower needs the enemy grid to find targets");
+		}
+		this.enemyGrid = enemyGrid;
+	}
+	
+	/**
+	 * Sets the pool the tower fires its projectiles into. It is shared
+	 * by all towers and updated by the game state every tick.
+	 * @param projectiles The game wide projectile pool
+	 * @throws IllegalArgumentException if the pool is null
+	 */
+	public void setProjectilePool(ProjectilePool projectiles) {
+		if (projectiles == null) {
+			throw new IllegalArgumentException("A tower needs the projectile pool to shoot");
+		}
+		this.projectiles = projectiles;
 	}
 
+	/**
+	 * Reloads and shoots at the first enemy in range. The enemy grid and
+	 * the projectile pool have to be set before.
+	 */
 	@Override
 	public void update(double delta) {
 		lastShot += delta;
@@ -92,8 +117,6 @@ public class Tower implements IUpdateable {
 			
 			lastShot = 0;
 		}
-		
-		updateProjectiles(delta);
 	}
 
 	/**
@@ -114,61 +137,39 @@ public class Tower implements IUpdateable {
 	}
 	
 	/**
-	 * Adds a new projectile to this tower which traces the current target.
+	 * Fires a projectile from the pool which traces the current target.
 	 */
 	private void shoot() {
-		Projectile p = new Projectile(center(), damage(), flavor, PROJECTILE_SPEED, target);
-	//	Projectile p = new Projectile(position(), damage(), flavor, PROJECTILE_SPEED, target);
-		projectiles.add(p);
+		projectiles.spawn(centerX(), centerY(), damage(), flavor, PROJECTILE_SPEED, target);
 	}
 	
 	/**
-	 * Scans the enemy list for the next enemy which is alive and in range
+	 * Asks the enemy grid for the first enemy which is alive and in range.
+	 * Only the tiles covered by the range of the tower are looked at.
 	 */
 	private void searchNewTarget() {
-		for (Enemy enemy : enemies) {
-			
-			if (enemy.alive() && inRange(enemy)) {
-				target = enemy;
-				return;
-			}
-		}
-		//No enemy found
-		target = null;
+		target = enemyGrid.firstInRange(position.x, position.y, range());
 	}
 	
 	/**
-	 * Update projectiles and delete all projectiles which has hit
-	 * @param delta The time passed between the last update
+	 * Allocates a new point, prefer {@link #centerX()} and {@link #centerY()}
+	 * in code which runs every tick
+	 * @return the center of the tower in pixel
 	 */
-	private void updateProjectiles(double delta) {
-		int i = 0;
-		while(i < projectiles.size()) {
-			Projectile p = projectiles.get(i);
-			p.update(delta);
-
-			if (p.hasHit()) {
-				projectiles.remove(p);
-			} else {
-				i++;
-			}
-		}
-	}
-
 	public Point center() {
-		int half = TILE_SIZE / 2;
-		int centerx = position.x + half;
-		int centery = position.y + half;
-		return new Point(centerx, centery);
+		return new Point(centerX(), centerY());
 	}
 	
+	public int centerX() { return position.x + TILE_SIZE / 2; }
+	public int centerY() { return position.y + TILE_SIZE / 2; }
+	
 	/**
 	 * Calculates the distance between an enemy and the tower
 	 * @param enemy The enemy
 	 * @return The calculated distance
 	 */
 	private double getDistance(Enemy enemy) {
-		return position.distance(enemy.position());
+		return Points.distance(position.x, position.y, enemy.x(), enemy.y());
 	}
 	
 	/**
@@ -189,7 +190,6 @@ public class Tower implements IUpdateable {
 		return distance <= range();
 	}
 	
-	public List<Projectile> projectiles() { return projectiles; }
 	public int level() { return level; }	
 	public EFlavor flavor() { return flavor; }	
 	public int damage() { return getTowerLevel().damage; }	
@@ -18,7 +18,14 @@ import de.dhbw.td.core.util.EFlavor;
  */
 public class TowerFactory {
 	
-	private TowerStats stats = TowerStats.getInstance();
+	private final TowerStats stats;
+	
+	/**
+	 * @param stats The stats the towers are built with
+	 */
+	public TowerFactory(TowerStats stats) {
+		this.stats = stats;
+	}
 
 	/**
 	 * Creates a tower with the given flavor at the specified position
@@ -11,34 +11,30 @@ package de.dhbw.td.core.tower;
 import static de.dhbw.td.core.util.GameConstants.TOWERS;
 import playn.core.Json;
 import playn.core.Json.Array;
-import de.dhbw.td.core.resources.ETowerText;
+import de.dhbw.td.core.game.IGameDataSource;
 import de.dhbw.td.core.util.EFlavor;
 
 /**
  * This class is used to read all information about the different towers
  * from the Json files and share them to all classes which need the information
  *
+ * The game state owns one instance read from its {@link IGameDataSource}.
  */
 public class TowerStats {
 	
 	private int[] cadenza;
 	private TowerLevel[][] stats;
 	
-	private static TowerStats instance;
-	
-	public static TowerStats getInstance() {
-		if (instance == null) {
-			instance = new TowerStats();
-		}
-		return instance;
-	}
-
-	private TowerStats() {
+	/**
+	 * Reads the stats of all towers
+	 * @param data The source to read the tower Jsons from
+	 */
+	public TowerStats(IGameDataSource data) {
 		stats = new TowerLevel[TOWERS.size()][];
 		cadenza = new int[TOWERS.size()];
 		
 		for (EFlavor flavor : TOWERS) {
-			Json.Object jsonTower =  ETowerText.getTowerJsonByFlavor(flavor);
+			Json.Object jsonTower =  data.towerJson(flavor);
 
 			Array jsonLevels = jsonTower.getArray("levels");
 			int levelCount = jsonTower.getInt("levelCount");
@@ -12,5 +12,5 @@ package de.dhbw.td.core.ui;
  *
  */
 public enum EUIState {
-	MAIN_MENU, INGAME_MENU, GAME, END_SCREEN, SUCCESS_SCREEN;
+	LOADING, MAIN_MENU, INGAME_MENU, GAME, END_SCREEN, SUCCESS_SCREEN;
 }
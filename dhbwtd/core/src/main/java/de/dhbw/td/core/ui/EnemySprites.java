@@ -0,0 +1,87 @@
+/*  Copyright (C) 2013. All rights reserved.
+ *  Released under the terms of the GNU General Public License version 3 or later.
+ *
+ *  Contributors:
+ *  Jan-Christoph Klie - All
+ */
+
+package de.dhbw.td.core.ui;
+
+import static playn.core.PlayN.graphics;
+
+import playn.core.Canvas;
+import playn.core.CanvasImage;
+import playn.core.Image;
+import de.dhbw.td.core.enemies.HealthBar;
+import de.dhbw.td.core.resources.EEnemyImage;
+import de.dhbw.td.core.util.EFlavor;
+
+/**
+ * Every enemy image with every health bar already drawn on top of it, so an
+ * enemy is drawn with a single image. The composites are regions of one
+ * sheet, a row per flavor and a column per health state.
+ */
+public class EnemySprites {
+
+	/** Where the health bar sits on the enemy */
+	public static final int HEALTH_BAR_X = 7;
+	public static final int HEALTH_BAR_Y = 2;
+
+	private static final EFlavor[] FLAVORS = EFlavor.values();
+
+	private final Image[][] composites;
+
+	/**
+	 * Draws the composites, all enemy and health bar images have to be loaded
+	 *
+	 * @see #imagesReady()
+	 */
+	public EnemySprites() {
+		int width = 0, height = 0;
+		for (EFlavor flavor : FLAVORS) {
+			Image enemy = EEnemyImage.getEnemyImage(flavor);
+			width = Math.max(width, (int) Math.ceil(enemy.width()));
+			height = Math.max(height, (int) Math.ceil(enemy.height()));
+		}
+
+		CanvasImage sheet = graphics().createImage(HealthBar.HEALTH_STATE_COUNT * width, FLAVORS.length * height);
+		Canvas canvas = sheet.canvas();
+		composites = new Image[FLAVORS.length][HealthBar.HEALTH_STATE_COUNT];
+		for (EFlavor flavor : FLAVORS) {
+			Image enemy = EEnemyImage.getEnemyImage(flavor);
+			int y = flavor.ordinal() * height;
+			for (int state = 0; state < HealthBar.HEALTH_STATE_COUNT; state++) {
+				int x = state * width;
+				canvas.drawImage(enemy, x, y);
+				canvas.drawImage(HealthBar.getHealthImage(state), x + HEALTH_BAR_X, y + HEALTH_BAR_Y);
+				composites[flavor.ordinal()][state] = sheet.subImage(x, y, width, height);
+			}
+		}
+	}
+
+	/**
+	 * @return true if all images the composites are made of are loaded
+	 */
+	public static boolean imagesReady() {
+		for (EFlavor flavor : FLAVORS) {
+			if (!EEnemyImage.getEnemyImage(flavor).isReady()) {
+				return false;
+			}
+		}
+		for (int state = 0; state < HealthBar.HEALTH_STATE_COUNT; state++) {
+			if (!HealthBar.getHealthImage(state).isReady()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @param flavor the flavor of the enemy
+	 * @param healthState the health state of the enemy, see {@link HealthBar}
+	 * @return the enemy image with the health bar on top
+	 */
+	public Image composite(EFlavor flavor, int healthState) {
+		return composites[flavor.ordinal()][healthState];
+	}
+}
@@ -7,13 +7,17 @@
  */
 package de.dhbw.td.core.ui;
 
+import static de.dhbw.td.core.ui.EnemySprites.HEALTH_BAR_X;
+import static de.dhbw.td.core.ui.EnemySprites.HEALTH_BAR_Y;
+import static de.dhbw.td.core.util.GameConstants.PROJECTILE_ROTATIONS;
+import static de.dhbw.td.core.util.GameConstants.HEIGHT;
 import static de.dhbw.td.core.util.GameConstants.TILE_SIZE;
+import static de.dhbw.td.core.util.GameConstants.WIDTH;
 
 import java.util.List;
 
 import playn.core.Image;
 import playn.core.Surface;
-import pythagoras.i.Point;
 import de.dhbw.td.core.enemies.Enemy;
 import de.dhbw.td.core.enemies.HealthBar;
 import de.dhbw.td.core.game.GameState;
@@ -21,17 +25,31 @@ import de.dhbw.td.core.level.ETileType;
 import de.dhbw.td.core.level.Level;
 import de.dhbw.td.core.resources.EEnemyImage;
 import de.dhbw.td.core.resources.EProjectileImage;
+import de.dhbw.td.core.resources.ETileImage;
 import de.dhbw.td.core.resources.ETowerImage;
 import de.dhbw.td.core.tower.Projectile;
+import de.dhbw.td.core.tower.ProjectilePool;
 import de.dhbw.td.core.tower.Tower;
 
 /**
- * 
- *
+ * Draws the level and the game objects. This drawer issues immediate draw
+ * calls onto a surface which is cleared every frame, see
+ * {@link SceneGraphDrawer} for a retained alternative.
  */
 public class GameDrawer {
 
 	private GameState gameState;
+	
+	/** The level currently on the level surface, null if none is */
+	private Level drawnLevel;
+	
+	/** Created once the projectile image is loaded */
+	private RotatedSprite projectileSprite;
+	
+	/** Created once the enemy and health bar images are loaded */
+	private EnemySprites enemySprites;
+	
+	private boolean continuousHealthBars;
 
 	/**
 	 * Creates a new GameDrawer for drawing
@@ -53,22 +71,12 @@ public class GameDrawer {
 		Image img = ETowerImage.getTowerImage(tower.flavor(), tower.level() + 1);
 
 		surf.drawImage(img, tower.x(), tower.y());
-		
-		for (Projectile projectile : tower.projectiles()) {
-			drawProjectile(projectile, surf);
-		}
 	}
 	
-	private void drawProjectile(Projectile p, Surface surf) {
+	private void drawProjectile(Projectile p, RotatedSprite sprite, Surface surf, float alpha) {
 		if (!p.hasHit()) {
-			Image img = EProjectileImage.LASER.image;
-			float hwidth = (int) (img.width() / 2);
-			float hheight = (int) (img.height() / 2);
-			surf.save();
-			surf.translate(p.x() + hwidth, p.y() + hheight);
-			surf.rotate((float) (p.angle() + Math.PI / 2));
-			surf.drawImage(img, -hwidth, -hheight);
-			surf.restore();
+			surf.drawImage(sprite.frame(projectileRotation(p)),
+					p.renderX(alpha) + sprite.offsetX(), p.renderY(alpha) + sprite.offsetY());
 		}
 	}
 
@@ -77,21 +85,72 @@ public class GameDrawer {
 	 * 
 	 * @param enemy the enemy to draw
 	 * @param surf the surface to draw on
+	 * @param alpha how far the game is between the last and the next update
 	 */
-	private void drawEnemy(Enemy enemy, Surface surf) {
-		Image img = EEnemyImage.getEnemyImage(enemy.enemyType());
-		Point p = enemy.position();
-		surf.drawImage(img, p.x(), p.y());
-		double relativeHealth = (double) enemy.curHealth()/(double)enemy.maxHealth();
-		Image healthBarImage = HealthBar.getHealthStatus(relativeHealth);
-		surf.drawImage(healthBarImage, enemy.position().x() + 7, enemy.position().y() + 2);
+	private void drawEnemy(Enemy enemy, EnemySprites sprites, Surface surf, float alpha) {
+		float x = enemy.renderX(alpha);
+		float y = enemy.renderY(alpha);
+		if (!inViewport(x, y)) {
+			return;
+		}
+		if (continuousHealthBars) {
+			surf.drawImage(EEnemyImage.getEnemyImage(enemy.enemyType()), x, y);
+			drawHealthBar(enemy.relativeHealth(), surf, x + HEALTH_BAR_X, y + HEALTH_BAR_Y);
+		} else {
+			surf.drawImage(sprites.composite(enemy.enemyType(), enemy.healthState()), x, y);
+		}
+	}
+	
+	/**
+	 * @param x the x coordinate of the upper left corner of a sprite
+	 * @param y the y coordinate of the upper left corner of a sprite
+	 * @return true if a sprite of tile size at this position can be seen
+	 */
+	protected static boolean inViewport(float x, float y) {
+		return x > -TILE_SIZE && x < WIDTH && y > -TILE_SIZE && y < HEIGHT;
+	}
+	
+	/**
+	 * Draws a health bar as a single quad, its length and color follow the health
+	 */
+	private void drawHealthBar(float relativeHealth, Surface surf, float x, float y) {
+		Image full = HealthBar.getHealthImage(HealthBar.HEALTH_STATE_COUNT - 1);
+		int red = (int) (255 * (1 - relativeHealth));
+		int green = (int) (255 * relativeHealth);
+		surf.setFillColor(0xFF000000 | red << 16 | green << 8);
+		surf.fillRect(x, y, full.width() * relativeHealth, full.height());
 	}
 
-	private void drawEnemies(List<Enemy> enemies, Surface surf) {
+	private void drawEnemies(List<Enemy> enemies, Surface surf, float alpha) {
+		EnemySprites sprites = enemySprites();
+		if (sprites == null) {
+			return;
+		}
 		for (Enemy e : enemies) {
 			if(e.alive())
-				drawEnemy(e, surf);
+				drawEnemy(e, sprites, surf, alpha);
+		}
+	}
+	
+	/**
+	 * @return the enemy images with their health bars, null while the images are loading
+	 */
+	protected EnemySprites enemySprites() {
+		if (enemySprites == null && EnemySprites.imagesReady()) {
+			enemySprites = new EnemySprites();
 		}
+		return enemySprites;
+	}
+	
+	/**
+	 * Draws a continuous health bar instead of one of the ten health bar images.
+	 * Only supported by this drawer, the {@link SceneGraphDrawer} always shows
+	 * the images.
+	 * 
+	 * @param continuousHealthBars true for continuous health bars
+	 */
+	public void setContinuousHealthBars(boolean continuousHealthBars) {
+		this.continuousHealthBars = continuousHealthBars;
 	}
 	
 	private void drawTowers(List<Tower> towers, Surface surf) {
@@ -99,6 +158,72 @@ public class GameDrawer {
 			drawTower(t, surf);
 		}
 	}
+	
+	/**
+	 * Draws all projectiles in flight from the game wide pool
+	 * 
+	 * @param projectiles the pool to draw
+	 * @param surf the surface to draw on
+	 * @param alpha how far the game is between the last and the next update
+	 */
+	private void drawProjectiles(ProjectilePool projectiles, Surface surf, float alpha) {
+		RotatedSprite sprite = projectileSprite();
+		if (sprite == null) {
+			return;
+		}
+		for (int i = 0; i < projectiles.size(); i++) {
+			drawProjectile(projectiles.get(i), sprite, surf, alpha);
+		}
+	}
+	
+	/**
+	 * @return the rotations of the projectile image, null while the image is loading
+	 */
+	protected RotatedSprite projectileSprite() {
+		if (projectileSprite == null && EProjectileImage.LASER.image.isReady()) {
+			projectileSprite = new RotatedSprite(EProjectileImage.LASER.image, PROJECTILE_ROTATIONS);
+		}
+		return projectileSprite;
+	}
+	
+	/**
+	 * @return the rotation of the image of a projectile, which points upwards unrotated
+	 */
+	protected static double projectileRotation(Projectile p) {
+		return p.angle() + Math.PI / 2;
+	}
+
+	/**
+	 * Draws the current level onto the specified surface, but only if it is
+	 * not already there. The level only changes when a new one is loaded, so
+	 * the surface should hold nothing but the level and is left untouched
+	 * in all other frames.
+	 * 
+	 * @param surf the surface reserved for the level
+	 */
+	public void drawLevel(Surface surf) {
+		Level level = gameState.level();
+		if (level == drawnLevel) {
+			return;
+		}
+		
+		surf.clear();
+		drawLevel(level, surf);
+		
+		// Tiles still loading have been drawn as nothing, try again next frame
+		drawnLevel = tilesReady(level) ? level : null;
+	}
+
+	private boolean tilesReady(Level level) {
+		for (ETileType[] row : level.map()) {
+			for (ETileType tile : row) {
+				if (!ETileImage.forTile(tile).isReady()) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
 
 	/**
 	 * Draws a level onto the specified surface
@@ -110,19 +235,25 @@ public class GameDrawer {
 		ETileType map[][] = level.map();
 		for (int row = 0; row < map.length; row++) {
 			for (int col = 0; col < map[row].length; col++) {
-				surf.drawImage(map[row][col].image(), col * TILE_SIZE, row * TILE_SIZE);
+				surf.drawImage(ETileImage.forTile(map[row][col]), col * TILE_SIZE, row * TILE_SIZE);
 			}
 		}
 	}
 
 	/**
+	 * Draws all game objects. Moving objects are drawn between their previous
+	 * and current position according to alpha, so motion stays smooth even
+	 * if the game is updated less often than painted. The level is drawn
+	 * separately by {@link #drawLevel(Surface)}.
 	 * 
-	 * @param background
-	 * @param sprites
+	 * @param sprites the surface to draw the game objects on
+	 * @param alpha how far the game is between the last and the next update, in [0, 1]
 	 */
-	public void drawComponents(Surface background, Surface sprites) {
-		drawLevel(gameState.level(), background);
-		drawEnemies(gameState.enemies(), sprites);
+	public void drawComponents(Surface sprites, float alpha) {
+		drawEnemies(gameState.enemies(), sprites, alpha);
 		drawTowers(gameState.towers(), sprites);
+		drawProjectiles(gameState.projectiles(), sprites, alpha);
 	}
+	
+	protected GameState gameState() { return gameState; }
 }
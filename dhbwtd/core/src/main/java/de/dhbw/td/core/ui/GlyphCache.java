@@ -0,0 +1,101 @@
+/*  Copyright (C) 2013. All rights reserved.
+ *  Released under the terms of the GNU General Public License version 3 or later.
+ *
+ *  Contributors:
+ *  Jan-Christoph Klie - All
+ */
+
+package de.dhbw.td.core.ui;
+
+import static playn.core.PlayN.graphics;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import playn.core.Canvas;
+import playn.core.CanvasImage;
+import playn.core.Image;
+import playn.core.TextFormat;
+import playn.core.TextLayout;
+
+/**
+ * Keeps digits and frequently drawn strings rasterized in one text format,
+ * so numbers and fixed labels are copied onto a canvas instead of being laid
+ * out again every time they are drawn.
+ */
+public class GlyphCache {
+
+	private final TextFormat format;
+	private final Image[] digits = new Image[10];
+	private final Map<String, Image> strings = new HashMap<String, Image>();
+
+	/** Scratch space for the digits of a number, enough for any long */
+	private final int[] digitBuffer = new int[20];
+
+	/**
+	 * @param format the format all glyphs are rasterized in
+	 */
+	public GlyphCache(TextFormat format) {
+		this.format = format;
+		for (int i = 0; i < digits.length; i++) {
+			digits[i] = rasterize(Integer.toString(i));
+		}
+	}
+
+	/**
+	 * Draws a number digit by digit
+	 *
+	 * @param canvas the canvas to draw on
+	 * @param number the number to draw
+	 * @param x the x-coordinate of the upper left corner of the first digit
+	 * @param y the y-coordinate of the upper left corner of the digits
+	 * @return the x-coordinate right after the last digit
+	 */
+	public float drawNumber(Canvas canvas, long number, float x, float y) {
+		if (number < 0) {
+			x = drawText(canvas, "-", x, y);
+		}
+
+		int count = 0;
+		do {
+			digitBuffer[count++] = (int) Math.abs(number % 10);
+			number /= 10;
+		} while (number != 0);
+
+		while (count > 0) {
+			Image digit = digits[digitBuffer[--count]];
+			canvas.drawImage(digit, x, y);
+			x += digit.width();
+		}
+		return x;
+	}
+
+	/**
+	 * Draws a string, which is rasterized when it is drawn for the first time.
+	 * Only meant for the small set of labels which are drawn again and again.
+	 *
+	 * @param canvas the canvas to draw on
+	 * @param text the string to draw
+	 * @param x the x-coordinate of the upper left corner of the string
+	 * @param y the y-coordinate of the upper left corner of the string
+	 * @return the x-coordinate right after the string
+	 */
+	public float drawText(Canvas canvas, String text, float x, float y) {
+		Image image = strings.get(text);
+		if (image == null) {
+			image = rasterize(text);
+			strings.put(text, image);
+		}
+		canvas.drawImage(image, x, y);
+		return x + image.width();
+	}
+
+	private Image rasterize(String text) {
+		TextLayout layout = graphics().layoutText(text, format);
+		int width = Math.max(1, (int) Math.ceil(layout.width()));
+		int height = Math.max(1, (int) Math.ceil(layout.height()));
+		CanvasImage image = graphics().createImage(width, height);
+		image.canvas().fillText(layout, 0, 0);
+		return image;
+	}
+}
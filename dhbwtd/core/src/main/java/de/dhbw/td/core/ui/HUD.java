@@ -95,6 +95,17 @@ public class HUD implements IDrawable, IUIEventListener {
 	
 	private TextFormat textFormat;
 	private TextFormat smallerTextFormat;
+	private GlyphCache glyphs;
+	
+	/*
+	 * The values the canvases show, they are only redrawn if these change
+	 */
+	private int shownCredits = Integer.MIN_VALUE;
+	private int shownLifepoints = Integer.MIN_VALUE;
+	private int shownLevel = Integer.MIN_VALUE;
+	private int shownWave = Integer.MIN_VALUE;
+	private boolean shownEndboss;
+	private String shownInformation;
 	
 	private List<Button> buttons;
 	
@@ -127,6 +138,7 @@ public class HUD implements IDrawable, IUIEventListener {
 		
 		Font miso = graphics().createFont("Miso", Font.Style.PLAIN, FONTSIZE);
 		textFormat = new TextFormat().withFont(miso);
+		glyphs = new GlyphCache(textFormat);
 		
 		miso = graphics().createFont("Miso", Font.Style.PLAIN, 20);
 		smallerTextFormat = new TextFormat().withFont(miso);
@@ -301,38 +313,54 @@ public class HUD implements IDrawable, IUIEventListener {
 	 */
 	
 	private void drawCredit(Surface surf) {	
-		creditsCanvas.clear();
-		drawText(creditsCanvas, gameState.credits(), 0, 0);
+		if (gameState.credits() != shownCredits) {
+			shownCredits = gameState.credits();
+			creditsCanvas.clear();
+			glyphs.drawNumber(creditsCanvas, shownCredits, 0, 0);
+		}
 		surf.drawImage(creditsCanvasImage, OFFSET_TEXT_CREDITS*TILE_SIZE, OFFSET_TEXT_HEAD);			
 	}
 	
 	private void drawLifes(Surface surf) {	
-		lifeCanvas.clear();
-		drawText(lifeCanvas, gameState.lifepoints(),0, 0);
+		if (gameState.lifepoints() != shownLifepoints) {
+			shownLifepoints = gameState.lifepoints();
+			lifeCanvas.clear();
+			glyphs.drawNumber(lifeCanvas, shownLifepoints, 0, 0);
+		}
 		surf.drawImage(lifeCanvasImage, OFFSET_TEXT_HEART*TILE_SIZE, OFFSET_TEXT_HEAD);
 	}
 	
 	private void drawSemester(Surface surf) {			
-		semesterCanvas.clear();
-		
-		String clockText = gameState.levelCount() + ". Semester - ";
-		if (gameState.isEndboss()) {
-			clockText += "Klausuren";
-		} else {
-			clockText += gameState.waveCount() + ". Woche";			
+		if (gameState.levelCount() != shownLevel || gameState.waveCount() != shownWave
+				|| gameState.isEndboss() != shownEndboss) {
+			shownLevel = gameState.levelCount();
+			shownWave = gameState.waveCount();
+			shownEndboss = gameState.isEndboss();
+			semesterCanvas.clear();
+			
+			float x = glyphs.drawNumber(semesterCanvas, shownLevel, 0, 0);
+			x = glyphs.drawText(semesterCanvas, ". Semester - ", x, 0);
+			if (shownEndboss) {
+				glyphs.drawText(semesterCanvas, "Klausuren", x, 0);
+			} else {
+				x = glyphs.drawNumber(semesterCanvas, shownWave, x, 0);
+				glyphs.drawText(semesterCanvas, ". Woche", x, 0);
+			}
 		}
 		
-		drawText(semesterCanvas, clockText, 0, 0);
 		surf.drawImage(semesterCanvasImage, OFFSET_TEXT_CLOCK*TILE_SIZE, OFFSET_TEXT_HEAD);	
 	}
 	
 	private void drawInformation(Surface surf){
-		informationCanvas.clear();
 		String text = gameState.information();
-		if( text.contains("\n")) {
-			drawText(informationCanvas, smallerTextFormat, gameState.information(), 0, 0);
-		} else {
-			drawText(informationCanvas, gameState.information(), 0, 0);
+		if (!text.equals(shownInformation)) {
+			shownInformation = text;
+			informationCanvas.clear();
+			if( text.contains("\n")) {
+				drawText(informationCanvas, smallerTextFormat, text, 0, 0);
+			} else {
+				drawText(informationCanvas, text, 0, 0);
+			}
 		}
 		surf.drawImage(informationCanvasImage, OFFSET_TEXT_INFORMATION, OFFSET_TEXT_FOOT);
 	}
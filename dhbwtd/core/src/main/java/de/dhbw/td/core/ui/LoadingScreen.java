@@ -0,0 +1,49 @@
+/*  Copyright (C) 2013. All rights reserved.
+ *  Released under the terms of the GNU General Public License version 3 or later.
+ *
+ *  Contributors:
+ *  Jan-Christoph Klie - All
+ */
+
+package de.dhbw.td.core.ui;
+
+import static de.dhbw.td.core.util.GameConstants.HEIGHT;
+import static de.dhbw.td.core.util.GameConstants.WIDTH;
+import playn.core.Surface;
+import de.dhbw.td.core.resources.AssetPreloader;
+
+/**
+ * Shown while the assets are loading, before the main menu. It only draws
+ * a progress bar since there are no images to draw with yet. It is also
+ * shown while a level is still on its way, the bar is full then.
+ */
+public class LoadingScreen implements IDrawable {
+
+	private static final int BAR_WIDTH = 400;
+	private static final int BAR_HEIGHT = 16;
+	private static final int BACKGROUND_COLOR = 0xFF000000;
+	private static final int FRAME_COLOR = 0xFF404040;
+	private static final int BAR_COLOR = 0xFFFFFFFF;
+
+	private final AssetPreloader preloader;
+
+	/**
+	 * @param preloader the loading to show the progress of
+	 */
+	public LoadingScreen(AssetPreloader preloader) {
+		this.preloader = preloader;
+	}
+
+	@Override
+	public void draw(Surface surf) {
+		float x = (WIDTH - BAR_WIDTH) / 2;
+		float y = (HEIGHT - BAR_HEIGHT) / 2;
+
+		surf.setFillColor(BACKGROUND_COLOR);
+		surf.fillRect(0, 0, WIDTH, HEIGHT);
+		surf.setFillColor(FRAME_COLOR);
+		surf.fillRect(x - 2, y - 2, BAR_WIDTH + 4, BAR_HEIGHT + 4);
+		surf.setFillColor(BAR_COLOR);
+		surf.fillRect(x, y, BAR_WIDTH * preloader.progress(), BAR_HEIGHT);
+	}
+}
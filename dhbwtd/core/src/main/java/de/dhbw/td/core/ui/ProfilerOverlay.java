@@ -0,0 +1,103 @@
+/*  Copyright (C) 2013. All rights reserved.
+ *  Released under the terms of the GNU General Public License version 3 or later.
+ *
+ *  Contributors:
+ *  Jan-Christoph Klie - All
+ */
+
+package de.dhbw.td.core.ui;
+
+import static de.dhbw.td.core.profiling.ProfilerSnapshot.formatMillis;
+import static playn.core.PlayN.graphics;
+import playn.core.Canvas;
+import playn.core.CanvasImage;
+import playn.core.Font;
+import playn.core.Surface;
+import playn.core.TextFormat;
+import de.dhbw.td.core.profiling.EMetric;
+import de.dhbw.td.core.profiling.IProfilerListener;
+import de.dhbw.td.core.profiling.ProfilerSnapshot;
+
+/**
+ * Shows the latest numbers of the profiler in the upper left corner. The
+ * text is only laid out again when a new snapshot arrives.
+ */
+public class ProfilerOverlay implements IProfilerListener {
+
+	private static final int WIDTH = 360;
+	private static final int LINE_HEIGHT = 18;
+	private static final int MARGIN = 6;
+
+	private final CanvasImage image;
+	private final TextFormat textFormat;
+
+	private ProfilerSnapshot snapshot;
+	private boolean changed;
+
+	public ProfilerOverlay() {
+		int lines = EMetric.values().length + 3;
+		image = graphics().createImage(WIDTH, lines * LINE_HEIGHT + 2 * MARGIN);
+		Font font = graphics().createFont("Miso", Font.Style.PLAIN, 16);
+		textFormat = new TextFormat().withFont(font);
+	}
+
+	@Override
+	public void onSnapshot(ProfilerSnapshot snapshot) {
+		this.snapshot = snapshot;
+		changed = true;
+	}
+
+	/**
+	 * Draws the overlay onto a surface of its own, but only if there are new numbers
+	 *
+	 * @param surf the surface reserved for the overlay
+	 */
+	public void draw(Surface surf) {
+		if (!changed) {
+			return;
+		}
+		changed = false;
+		render();
+		surf.clear();
+		surf.drawImage(image, 0, 0);
+	}
+
+	private void render() {
+		Canvas canvas = image.canvas();
+		canvas.clear();
+		canvas.setFillColor(0xB0000000);
+		canvas.fillRect(0, 0, image.width(), image.height());
+		canvas.setFillColor(0xFFFFFFFF);
+
+		int y = MARGIN;
+		for (EMetric m : EMetric.values()) {
+			line(canvas, m.label + "  p50 " + formatMillis(snapshot.p50(m))
+					+ " ms  p99 " + formatMillis(snapshot.p99(m)) + " ms", y);
+			y += LINE_HEIGHT;
+		}
+
+		if (snapshot.allocationsP50() < 0) {
+			line(canvas, "allocations  not counted on this platform", y);
+		} else {
+			line(canvas, "allocations per tick  p50 " + snapshot.allocationsP50()
+					+ " B  p99 " + snapshot.allocationsP99() + " B", y);
+		}
+		y += LINE_HEIGHT;
+
+		line(canvas, "enemies " + snapshot.enemies() + " (" + snapshot.queuedEnemies() + " queued)"
+				+ "  towers " + snapshot.towers() + "  projectiles " + snapshot.projectiles(), y);
+		y += LINE_HEIGHT;
+		line(canvas, "F3 hides this overlay", y);
+	}
+
+	private void line(Canvas canvas, String text, int y) {
+		canvas.fillText(graphics().layoutText(text, textFormat), MARGIN, y);
+	}
+
+	/**
+	 * Draws the next snapshot even if nothing changed, e.g. after the overlay was hidden
+	 */
+	public void invalidate() {
+		changed = snapshot != null;
+	}
+}
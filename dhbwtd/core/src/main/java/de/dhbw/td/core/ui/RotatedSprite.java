@@ -0,0 +1,70 @@
+/*  Copyright (C) 2013. All rights reserved.
+ *  Released under the terms of the GNU General Public License version 3 or later.
+ *
+ *  Contributors:
+ *  Jan-Christoph Klie - All
+ */
+
+package de.dhbw.td.core.ui;
+
+import static playn.core.PlayN.graphics;
+
+import playn.core.Canvas;
+import playn.core.CanvasImage;
+import playn.core.Image;
+
+/**
+ * An image rendered once in a fixed number of rotations. Drawing a rotated
+ * sprite then only picks the nearest frame and copies it, instead of saving,
+ * rotating and restoring the transform of the surface for every sprite.
+ * All frames are regions of one texture.
+ */
+public class RotatedSprite {
+
+	private final Image[] frames;
+	private final float offsetX;
+	private final float offsetY;
+
+	/**
+	 * @param image the unrotated image, has to be loaded
+	 * @param rotations the number of frames for a full turn
+	 */
+	public RotatedSprite(Image image, int rotations) {
+		float width = image.width();
+		float height = image.height();
+		int cell = (int) Math.ceil(Math.sqrt(width * width + height * height)) + 2;
+		int columns = (int) Math.ceil(Math.sqrt(rotations));
+		int rows = (rotations + columns - 1) / columns;
+
+		CanvasImage sheet = graphics().createImage(columns * cell, rows * cell);
+		Canvas canvas = sheet.canvas();
+		frames = new Image[rotations];
+		for (int i = 0; i < rotations; i++) {
+			int x = (i % columns) * cell;
+			int y = (i / columns) * cell;
+			canvas.save();
+			canvas.translate(x + cell / 2f, y + cell / 2f);
+			canvas.rotate((float) (2 * Math.PI * i / rotations));
+			canvas.drawImage(image, -width / 2, -height / 2);
+			canvas.restore();
+			frames[i] = sheet.subImage(x, y, cell, cell);
+		}
+
+		// The frames are larger than the image, but share its center
+		offsetX = (width - cell) / 2;
+		offsetY = (height - cell) / 2;
+	}
+
+	/**
+	 * @param rotation the rotation in radians, clockwise
+	 * @return the frame closest to the rotation
+	 */
+	public Image frame(double rotation) {
+		int i = (int) Math.round(rotation / (2 * Math.PI) * frames.length) % frames.length;
+		return frames[i < 0 ? i + frames.length : i];
+	}
+
+	/** Added to the position of the unrotated image to get the position of a frame */
+	public float offsetX() { return offsetX; }
+	public float offsetY() { return offsetY; }
+}
@@ -0,0 +1,224 @@
+/*  Copyright (C) 2013. All rights reserved.
+ *  Released under the terms of the GNU General Public License version 3 or later.
+ *
+ *  Contributors:
+ *  Jan-Christoph Klie - All
+ */
+package de.dhbw.td.core.ui;
+
+import static playn.core.PlayN.graphics;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+import playn.core.GroupLayer;
+import playn.core.Image;
+import playn.core.ImageLayer;
+import playn.core.Surface;
+import de.dhbw.td.core.enemies.Enemy;
+import de.dhbw.td.core.game.GameState;
+import de.dhbw.td.core.resources.ETowerImage;
+import de.dhbw.td.core.tower.Projectile;
+import de.dhbw.td.core.tower.ProjectilePool;
+import de.dhbw.td.core.tower.Tower;
+
+/**
+ * Draws the game objects as a retained scene graph instead of issuing draw
+ * calls onto a surface every frame. Every tower, enemy and projectile owns
+ * an image layer; per frame only their transforms are updated, and layers
+ * are added or removed when game objects appear or disappear. This lets
+ * the GL backends batch the sprites and skip the ones which did not change.
+ */
+public class SceneGraphDrawer extends GameDrawer {
+
+	private final GroupLayer enemyGroup;
+	private final GroupLayer towerGroup;
+	private final GroupLayer projectileGroup;
+
+	private final IdentityHashMap<Enemy, EnemySprite> enemySprites = new IdentityHashMap<Enemy, EnemySprite>();
+	private final List<EnemySprite> activeEnemySprites = new ArrayList<EnemySprite>();
+
+	private final IdentityHashMap<Tower, TowerSprite> towerSprites = new IdentityHashMap<Tower, TowerSprite>();
+	private final List<TowerSprite> activeTowerSprites = new ArrayList<TowerSprite>();
+
+	/** One layer per slot of the projectile pool, the unused ones are hidden */
+	private final List<ImageLayer> projectileLayers = new ArrayList<ImageLayer>();
+
+	private int frame;
+
+	/**
+	 * @param gameState containing the game objects
+	 * @param root the layer to add the sprites to
+	 */
+	public SceneGraphDrawer(GameState gameState, GroupLayer root) {
+		super(gameState);
+
+		enemyGroup = graphics().createGroupLayer();
+		towerGroup = graphics().createGroupLayer();
+		projectileGroup = graphics().createGroupLayer();
+
+		// Same order as the immediate drawer paints in
+		root.add(enemyGroup);
+		root.add(towerGroup);
+		root.add(projectileGroup);
+	}
+
+	/**
+	 * Moves the layers of all game objects to their current position.
+	 * Nothing is drawn onto the surface, the layers draw themselves.
+	 */
+	@Override
+	public void drawComponents(Surface sprites, float alpha) {
+		frame++;
+		syncEnemies(gameState().enemies(), alpha);
+		syncTowers(gameState().towers());
+		syncProjectiles(gameState().projectiles(), alpha);
+	}
+
+	private void syncEnemies(List<Enemy> enemies, float alpha) {
+		EnemySprites images = enemySprites();
+		if (images == null) {
+			return;
+		}
+
+		for (int i = 0; i < enemies.size(); i++) {
+			Enemy e = enemies.get(i);
+			if (!e.alive()) {
+				continue;
+			}
+
+			EnemySprite sprite = enemySprites.get(e);
+			if (sprite == null) {
+				sprite = new EnemySprite(e);
+				enemySprites.put(e, sprite);
+				activeEnemySprites.add(sprite);
+				enemyGroup.add(sprite.layer);
+			}
+			sprite.seen = frame;
+
+			float x = e.renderX(alpha);
+			float y = e.renderY(alpha);
+			boolean visible = inViewport(x, y);
+			if (sprite.layer.visible() != visible) {
+				sprite.layer.setVisible(visible);
+			}
+			if (!visible) {
+				continue;
+			}
+			sprite.layer.setTranslation(x, y);
+
+			if (sprite.healthState != e.healthState()) {
+				sprite.healthState = e.healthState();
+				sprite.layer.setImage(images.composite(e.enemyType(), sprite.healthState));
+			}
+		}
+
+		// Drop the sprites of enemies which died or left the game
+		for (int i = activeEnemySprites.size() - 1; i >= 0; i--) {
+			EnemySprite sprite = activeEnemySprites.get(i);
+			if (sprite.seen != frame) {
+				enemySprites.remove(sprite.enemy);
+				swapRemove(activeEnemySprites, i);
+				sprite.layer.destroy();
+			}
+		}
+	}
+
+	private void syncTowers(List<Tower> towers) {
+		for (int i = 0; i < towers.size(); i++) {
+			Tower t = towers.get(i);
+
+			TowerSprite sprite = towerSprites.get(t);
+			if (sprite == null) {
+				sprite = new TowerSprite(t);
+				towerSprites.put(t, sprite);
+				activeTowerSprites.add(sprite);
+				towerGroup.add(sprite.layer);
+			}
+			sprite.seen = frame;
+
+			if (sprite.level != t.level()) {
+				sprite.level = t.level();
+				sprite.layer.setImage(ETowerImage.getTowerImage(t.flavor(), t.level() + 1));
+			}
+		}
+
+		// Drop the sprites of sold towers
+		for (int i = activeTowerSprites.size() - 1; i >= 0; i--) {
+			TowerSprite sprite = activeTowerSprites.get(i);
+			if (sprite.seen != frame) {
+				towerSprites.remove(sprite.tower);
+				swapRemove(activeTowerSprites, i);
+				sprite.layer.destroy();
+			}
+		}
+	}
+
+	private void syncProjectiles(ProjectilePool projectiles, float alpha) {
+		RotatedSprite sprite = projectileSprite();
+		if (sprite == null) {
+			return;
+		}
+
+		while (projectileLayers.size() < projectiles.size()) {
+			ImageLayer layer = graphics().createImageLayer();
+			projectileLayers.add(layer);
+			projectileGroup.add(layer);
+		}
+
+		for (int i = 0; i < projectileLayers.size(); i++) {
+			ImageLayer layer = projectileLayers.get(i);
+			if (i >= projectiles.size()) {
+				layer.setVisible(false);
+				continue;
+			}
+
+			Projectile p = projectiles.get(i);
+			layer.setVisible(true);
+			layer.setTranslation(p.renderX(alpha) + sprite.offsetX(), p.renderY(alpha) + sprite.offsetY());
+			Image frame = sprite.frame(projectileRotation(p));
+			if (layer.image() != frame) {
+				layer.setImage(frame);
+			}
+		}
+	}
+
+	private static <T> void swapRemove(List<T> list, int i) {
+		int last = list.size() - 1;
+		list.set(i, list.get(last));
+		list.remove(last);
+	}
+
+	/**
+	 * An enemy, its image shows the health bar and changes with its health
+	 */
+	private static class EnemySprite {
+		final Enemy enemy;
+		final ImageLayer layer;
+		int healthState = -1;
+		int seen;
+
+		EnemySprite(Enemy enemy) {
+			this.enemy = enemy;
+			layer = graphics().createImageLayer();
+		}
+	}
+
+	/**
+	 * A tower, its image changes with its level
+	 */
+	private static class TowerSprite {
+		final Tower tower;
+		final ImageLayer layer;
+		int level;
+		int seen;
+
+		TowerSprite(Tower tower) {
+			this.tower = tower;
+			this.level = tower.level();
+			layer = graphics().createImageLayer(ETowerImage.getTowerImage(tower.flavor(), tower.level() + 1));
+			layer.setTranslation(tower.x(), tower.y());
+		}
+	}
+}
@@ -0,0 +1,89 @@
+/*  Copyright (C) 2013. All rights reserved.
+ *  Released under the terms of the GNU General Public License version 3 or later.
+ *
+ *  Contributors:
+ *  Jan-Christoph Klie - All
+ */
+
+package de.dhbw.td.core.util;
+
+/**
+ * Base64 with the standard alphabet and padding. PlayN only loads text
+ * assets, so binary assets are shipped as Base64.
+ */
+public class Base64 {
+
+	private static final char[] ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".toCharArray();
+	private static final int[] VALUES = new int[128];
+
+	static {
+		for (int i = 0; i < VALUES.length; i++) {
+			VALUES[i] = -1;
+		}
+		for (int i = 0; i < ALPHABET.length; i++) {
+			VALUES[ALPHABET[i]] = i;
+		}
+	}
+
+	private Base64() {
+		throw new RuntimeException("I shall not be initialized");
+	}
+
+	public static String encode(byte[] bytes) {
+		StringBuilder sb = new StringBuilder((bytes.length + 2) / 3 * 4);
+		for (int i = 0; i < bytes.length; i += 3) {
+			int n = (bytes[i] & 0xFF) << 16;
+			if (i + 1 < bytes.length) {
+				n |= (bytes[i + 1] & 0xFF) << 8;
+			}
+			if (i + 2 < bytes.length) {
+				n |= bytes[i + 2] & 0xFF;
+			}
+			sb.append(ALPHABET[(n >> 18) & 63]);
+			sb.append(ALPHABET[(n >> 12) & 63]);
+			sb.append(i + 1 < bytes.length ? ALPHABET[(n >> 6) & 63] : '=');
+			sb.append(i + 2 < bytes.length ? ALPHABET[n & 63] : '=');
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Decodes the text, whitespace is skipped
+	 *
+	 * @throws IllegalArgumentException if the text is no Base64
+	 */
+	public static byte[] decode(String text) {
+		byte[] bytes = new byte[text.length() / 4 * 3];
+		int size = 0;
+		int n = 0, digits = 0, padding = 0;
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			if (Character.isWhitespace(c)) {
+				continue;
+			}
+			int value;
+			if (c == '=') {
+				value = 0;
+				padding++;
+			} else if (c < VALUES.length && VALUES[c] >= 0 && padding == 0) {
+				value = VALUES[c];
+			} else {
+				throw new IllegalArgumentException("Illegal Base64 character '" + c + "' at " + i);
+			}
+			n = (n << 6) | value;
+			if (++digits == 4) {
+				bytes[size++] = (byte) (n >> 16);
+				bytes[size++] = (byte) (n >> 8);
+				bytes[size++] = (byte) n;
+				n = digits = 0;
+			}
+		}
+		if (digits != 0 || padding > 2) {
+			throw new IllegalArgumentException("Base64 text of wrong length");
+		}
+
+		byte[] decoded = new byte[size - padding];
+		System.arraycopy(bytes, 0, decoded, 0, decoded.length);
+		return decoded;
+	}
+}
@@ -0,0 +1,59 @@
+/*  Copyright (C) 2013. All rights reserved.
+ *  Released under the terms of the GNU General Public License version 3 or later.
+ *
+ *  Contributors:
+ *  Jan-Christoph Klie - All
+ */
+
+package de.dhbw.td.core.util;
+
+/**
+ * Reads big-endian numbers from a byte array. This is the part of
+ * {@code java.nio.ByteBuffer} the compiled levels need, written out because
+ * the browser platform has no {@code java.nio}.
+ *
+ * @see ByteWriter
+ */
+public class ByteReader {
+
+	private final byte[] bytes;
+	private int position;
+
+	public ByteReader(byte[] bytes) {
+		this.bytes = bytes;
+	}
+
+	/**
+	 * @return the next byte, unsigned
+	 */
+	public int get() {
+		require(1);
+		return bytes[position++] & 0xFF;
+	}
+
+	/**
+	 * @return the next two bytes as signed short
+	 */
+	public int getShort() {
+		require(2);
+		int value = (bytes[position] << 8) | (bytes[position + 1] & 0xFF);
+		position += 2;
+		return (short) value;
+	}
+
+	public int getInt() {
+		require(4);
+		int value = (bytes[position] << 24) | ((bytes[position + 1] & 0xFF) << 16)
+				| ((bytes[position + 2] & 0xFF) << 8) | (bytes[position + 3] & 0xFF);
+		position += 4;
+		return value;
+	}
+
+	private void require(int n) {
+		if (position + n > bytes.length) {
+			throw new IllegalArgumentException("Unexpected end of data at byte " + position);
+		}
+	}
+
+	public int remaining() { return bytes.length - position; }
+}
@@ -0,0 +1,72 @@
+/*  Copyright (C) 2013. All rights reserved.
+ *  Released under the terms of the GNU General Public License version 3 or later.
+ *
+ *  Contributors:
+ *  Jan-Christoph Klie - All
+ */
+
+package de.dhbw.td.core.util;
+
+/**
+ * Writes big-endian numbers into a growing byte array
+ *
+ * @see ByteReader
+ */
+public class ByteWriter {
+
+	private byte[] bytes = new byte[256];
+	private int size;
+
+	/**
+	 * @param value written as unsigned byte
+	 * @throws IllegalArgumentException if the value does not fit
+	 */
+	public ByteWriter put(int value) {
+		if (value < 0 || value > 0xFF) {
+			throw new IllegalArgumentException(value + " does not fit into a byte");
+		}
+		ensure(1);
+		bytes[size++] = (byte) value;
+		return this;
+	}
+
+	/**
+	 * @param value written as signed short
+	 * @throws IllegalArgumentException if the value does not fit
+	 */
+	public ByteWriter putShort(int value) {
+		if (value < Short.MIN_VALUE || value > Short.MAX_VALUE) {
+			throw new IllegalArgumentException(value + " does not fit into a short");
+		}
+		ensure(2);
+		bytes[size++] = (byte) (value >> 8);
+		bytes[size++] = (byte) value;
+		return this;
+	}
+
+	public ByteWriter putInt(int value) {
+		ensure(4);
+		bytes[size++] = (byte) (value >> 24);
+		bytes[size++] = (byte) (value >> 16);
+		bytes[size++] = (byte) (value >> 8);
+		bytes[size++] = (byte) value;
+		return this;
+	}
+
+	private void ensure(int n) {
+		if (size + n > bytes.length) {
+			byte[] grown = new byte[Math.max(bytes.length * 2, size + n)];
+			System.arraycopy(bytes, 0, grown, 0, size);
+			bytes = grown;
+		}
+	}
+
+	/**
+	 * @return a copy of the bytes written so far
+	 */
+	public byte[] toByteArray() {
+		byte[] copy = new byte[size];
+		System.arraycopy(bytes, 0, copy, 0, size);
+		return copy;
+	}
+}
@@ -0,0 +1,161 @@
+/*  Copyright (C) 2013. All rights reserved.
+ *  Released under the terms of the GNU General Public License version 3 or later.
+ *
+ *  Contributors:
+ *  Jan-Christoph Klie - All
+ */
+
+package de.dhbw.td.core.util;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * Dense, array backed container for the game entities. Access by index is
+ * constant time and indices stay stable during a tick: entities which die
+ * while the game state iterates are only flagged and get dropped in one
+ * linear pass by {@link #compact()} at the end of the tick.
+ *
+ * @param <T> the type of the entities
+ */
+public class EntityList<T> extends AbstractList<T> implements RandomAccess {
+
+	private static final int INITIAL_CAPACITY = 16;
+
+	private Object[] elements;
+	private boolean[] removed;
+	private int size;
+	private int removedCount;
+
+	public EntityList() {
+		elements = new Object[INITIAL_CAPACITY];
+		removed = new boolean[INITIAL_CAPACITY];
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public T get(int index) {
+		checkIndex(index);
+		return (T) elements[index];
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean add(T e) {
+		ensureCapacity(size + 1);
+		elements[size] = e;
+		removed[size] = false;
+		size++;
+		modCount++;
+		return true;
+	}
+
+	/**
+	 * Flags the entity at the given index for removal. It stays in the list
+	 * until the next call of {@link #compact()}, so the indices of all other
+	 * entities do not change.
+	 *
+	 * @param index the index of the entity to remove
+	 */
+	public void removeLater(int index) {
+		checkIndex(index);
+		if (!removed[index]) {
+			removed[index] = true;
+			removedCount++;
+		}
+	}
+
+	/**
+	 * Drops all entities flagged by {@link #removeLater(int)}. The order of the
+	 * remaining entities is kept.
+	 */
+	public void compact() {
+		if (removedCount == 0) {
+			return;
+		}
+
+		int target = 0;
+		for (int i = 0; i < size; i++) {
+			if (!removed[i]) {
+				elements[target++] = elements[i];
+			}
+		}
+		Arrays.fill(elements, target, size, null);
+		Arrays.fill(removed, 0, size, false);
+
+		size = target;
+		removedCount = 0;
+		modCount++;
+	}
+
+	/**
+	 * Removes the entity at the given index in constant time by moving the
+	 * last entity into its slot. Use it where the order does not matter.
+	 *
+	 * @param index the index of the entity to remove
+	 * @return the removed entity
+	 */
+	public T swapRemove(int index) {
+		T old = get(index);
+		int last = size - 1;
+		if (removed[index]) {
+			removedCount--;
+		}
+		elements[index] = elements[last];
+		removed[index] = removed[last];
+		elements[last] = null;
+		removed[last] = false;
+		size = last;
+		modCount++;
+		return old;
+	}
+
+	/**
+	 * Removes the entity at the given index and keeps the order of the
+	 * others, like every {@link java.util.List} does. Use
+	 * {@link #swapRemove(int)} where the order does not matter.
+	 */
+	@Override
+	public T remove(int index) {
+		T old = get(index);
+		if (removed[index]) {
+			removedCount--;
+		}
+		int moved = size - index - 1;
+		System.arraycopy(elements, index + 1, elements, index, moved);
+		System.arraycopy(removed, index + 1, removed, index, moved);
+		size--;
+		elements[size] = null;
+		removed[size] = false;
+		modCount++;
+		return old;
+	}
+
+	@Override
+	public void clear() {
+		Arrays.fill(elements, 0, size, null);
+		Arrays.fill(removed, 0, size, false);
+		size = 0;
+		removedCount = 0;
+		modCount++;
+	}
+
+	private void ensureCapacity(int capacity) {
+		if (capacity > elements.length) {
+			int newLength = Math.max(capacity, elements.length * 2);
+			elements = Arrays.copyOf(elements, newLength);
+			removed = Arrays.copyOf(removed, newLength);
+		}
+	}
+
+	private void checkIndex(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		}
+	}
+}
@@ -23,14 +23,23 @@ public class GameConstants {
 	public static final int WIDTH = 896;
 	public static final int HEIGHT = 640;
 	public static final float FONTSIZE = 32f;
+	public static final int PROJECTILE_ROTATIONS = 64;
+	public static final int IDLE_REPAINT_INTERVAL = 250;
 	
 	/*
 	 * GAME CONSTANTS
 	 */
 	public static final int FACTOR_DELTA_FF = 4;
+	public static final int UPDATE_RATE = 24;
+	/** Milliseconds between two calls of update by PlayN, independent of the simulation rate */
+	public static final int TICK_PERIOD = 20;
+	public static final int MAX_STEPS_PER_FRAME = 64;
+	public static final double UNLIMITED_FRAME_BUDGET = 12;
 	public static final int INITIAL_CREDITS = 25;
 	public static final int INITIAL_LIFEPOINTS = 100;
 	public static final int NO_OF_LEVELZ = 6;
+	/** Level data files of each kind kept after use, the level and waves being played and the next ones */
+	public static final int CACHED_DATA_FILES = 4;
 	
 	/*
 	 * PATHS
@@ -44,6 +53,8 @@ public class GameConstants {
 	public static final String PATH_ENEMIES = "enemies/";
 	public static final String PATH_SOUNDS = "sound/";
 	public static final String PATH_PROJETILES = "projectiles/";
+	/** Replaces .json in the path of a level or waves compiled at build time */
+	public static final String COMPILED_EXTENSION = ".b64";
 	
 	/*
 	 * ENEMY CONSTANTS
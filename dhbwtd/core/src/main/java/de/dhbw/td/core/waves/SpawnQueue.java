@@ -0,0 +1,107 @@
+/*  Copyright (C) 2013. All rights reserved.
+ *  Released under the terms of the GNU General Public License version 3 or later.
+ *
+ *  Contributors:
+ *  Jan-Christoph Klie - All
+ */
+
+package de.dhbw.td.core.waves;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+import de.dhbw.td.core.enemies.Enemy;
+import de.dhbw.td.core.enemies.EnemyPool;
+
+/**
+ * Holds the enemies of a wave which are still waiting in rank and file
+ * before the start of the path. An enemy only enters the game when it would
+ * have walked up to the first waypoint, so the waiting enemies are neither
+ * updated nor drawn nor searched by the towers.
+ */
+public class SpawnQueue {
+
+	private Enemy[] enemies = new Enemy[0];
+	private double[] entryTime = new double[0];
+	private int head;
+	private int size;
+	private double elapsed;
+
+	/**
+	 * Queues all enemies of a wave, replacing the enemies still queued
+	 *
+	 * @param wave the wave to queue
+	 */
+	public void enqueue(Wave wave) {
+		clear();
+		size = wave.enemies().size();
+		if (enemies.length < size) {
+			enemies = new Enemy[size];
+			entryTime = new double[size];
+		}
+
+		Integer[] order = new Integer[size];
+		final double[] times = new double[size];
+		for (int i = 0; i < size; i++) {
+			Enemy e = wave.enemies().get(i);
+			order[i] = i;
+			times[i] = entryTime(e);
+		}
+		// Enemies of different speed may overtake each other while waiting
+		Arrays.sort(order, new Comparator<Integer>() {
+			@Override
+			public int compare(Integer a, Integer b) {
+				return Double.compare(times[a], times[b]);
+			}
+		});
+		for (int i = 0; i < size; i++) {
+			enemies[i] = wave.enemies().get(order[i]);
+			entryTime[i] = times[order[i]];
+		}
+	}
+
+	/**
+	 * @return the time in milliseconds until the enemy reaches the start of its path
+	 */
+	private static double entryTime(Enemy e) {
+		if (e.distance() >= 0) {
+			return 0;
+		}
+		if (e.speed() <= 0) {
+			return Double.POSITIVE_INFINITY;
+		}
+		return -e.distance() * 1000 / e.speed();
+	}
+
+	/**
+	 * Lets the waiting enemies walk on and copies those who reach the start
+	 * of their path into the pool. They are placed where they were before
+	 * this step, so updating the pool moves them to where they would be had
+	 * they walked all along.
+	 *
+	 * @param delta the length of the step in milliseconds
+	 * @param pool the pool of the enemies in game
+	 */
+	public void activate(double delta, EnemyPool pool) {
+		double before = elapsed;
+		elapsed += delta;
+		while (head < size && entryTime[head] <= elapsed) {
+			Enemy queued = enemies[head];
+			Enemy e = pool.spawnCopy(queued);
+			e.moveAlongPath(queued.speed() * before / 1000);
+			enemies[head++] = null;
+		}
+	}
+
+	/**
+	 * Drops all queued enemies
+	 */
+	public void clear() {
+		Arrays.fill(enemies, head, size, null);
+		head = size = 0;
+		elapsed = 0;
+	}
+
+	public boolean isEmpty() { return head == size; }
+	public int size() { return size - head; }
+}
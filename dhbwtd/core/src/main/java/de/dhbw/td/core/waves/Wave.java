@@ -10,11 +10,11 @@ package de.dhbw.td.core.waves;
 
 import static de.dhbw.td.core.util.GameConstants.TILE_SIZE;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
 import de.dhbw.td.core.enemies.Enemy;
+import de.dhbw.td.core.enemies.EnemyPool;
 
 /**
  * 
@@ -45,15 +45,13 @@ public class Wave {
 	 * and not stacked.
 	 */
 	private List<Enemy> arrangeEnemiesInRankAndFile(List<Enemy> enemyList) {
-		List<Enemy> movedEnemies = new ArrayList<Enemy>(enemyList.size());
+		EnemyPool movedEnemies = new EnemyPool(enemyList.size());
 		
 		int offset = -256;
 		for( Enemy e : enemyList) {
-			Enemy movedEnemy = new Enemy(e);
-			movedEnemy.position().translate(offset, 0);
+			Enemy movedEnemy = movedEnemies.spawnCopy(e);
+			movedEnemy.moveAlongPath(offset);
 			offset -= 2*TILE_SIZE;
-			
-			movedEnemies.add(movedEnemy);
 		}
 		
 		return movedEnemies;
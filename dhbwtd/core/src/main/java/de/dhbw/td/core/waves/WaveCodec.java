@@ -0,0 +1,75 @@
+/*  Copyright (C) 2013. All rights reserved.
+ *  Released under the terms of the GNU General Public License version 3 or later.
+ *
+ *  Contributors:
+ *  Jan-Christoph Klie - All
+ */
+
+package de.dhbw.td.core.waves;
+
+import static de.dhbw.td.core.util.GameConstants.NUMBER_OF_ATTRIBUTES;
+import de.dhbw.td.core.util.ByteReader;
+import de.dhbw.td.core.util.ByteWriter;
+
+/**
+ * The compiled form of the {@link WaveStats} of a level, written at build
+ * time by {@link de.dhbw.td.tools.LevelCompiler}.
+ *
+ * <pre>
+ * int    magic "DTWV"
+ * byte   version
+ * short  enemies per wave
+ * byte   number of waves
+ * int    maxHealth, speed, bounty of every wave, then of the endboss
+ * </pre>
+ */
+public class WaveCodec {
+
+	private static final int MAGIC = 0x44545756;
+	private static final int VERSION = 1;
+
+	private WaveCodec() {
+		throw new RuntimeException("I shall not be initialized");
+	}
+
+	public static byte[] encode(WaveStats stats) {
+		ByteWriter out = new ByteWriter();
+		out.putInt(MAGIC).put(VERSION);
+		out.putShort(stats.enemyCount()).put(stats.waves().length);
+		for (int[] wave : stats.waves()) {
+			putStats(out, wave);
+		}
+		putStats(out, stats.endboss());
+		return out.toByteArray();
+	}
+
+	private static void putStats(ByteWriter out, int[] stats) {
+		for (int i = 0; i < NUMBER_OF_ATTRIBUTES; i++) {
+			out.putInt(stats[i]);
+		}
+	}
+
+	/**
+	 * @throws IllegalArgumentException if the bytes are no compiled waves of this version
+	 */
+	public static WaveStats decode(byte[] compiled) {
+		ByteReader in = new ByteReader(compiled);
+		if (in.getInt() != MAGIC || in.get() != VERSION) {
+			throw new IllegalArgumentException("Not compiled waves of version " + VERSION);
+		}
+		int enemyCount = in.getShort();
+		int[][] waves = new int[in.get()][];
+		for (int i = 0; i < waves.length; i++) {
+			waves[i] = getStats(in);
+		}
+		return new WaveStats(enemyCount, waves, getStats(in));
+	}
+
+	private static int[] getStats(ByteReader in) {
+		int[] stats = new int[NUMBER_OF_ATTRIBUTES];
+		for (int i = 0; i < NUMBER_OF_ATTRIBUTES; i++) {
+			stats[i] = in.getInt();
+		}
+		return stats;
+	}
+}
@@ -10,14 +10,14 @@ package de.dhbw.td.core.waves;
 import static playn.core.PlayN.json;
 
 import java.util.LinkedList;
-import java.util.List;
 import java.util.Queue;
 import java.util.Random;
 
-import playn.core.Json;
 import playn.core.Json.Object;
 import pythagoras.i.Point;
 import de.dhbw.td.core.enemies.Enemy;
+import de.dhbw.td.core.enemies.EnemyPath;
+import de.dhbw.td.core.enemies.EnemyPool;
 import de.dhbw.td.core.util.EFlavor;
 
 
@@ -30,15 +30,26 @@ import de.dhbw.td.core.util.EFlavor;
 public class WaveControllerFactory {
 
 	private static final int NUMBER_OF_WAVES = 12;
-	private static final int NUMBER_OF_ATTRIBUTES = 3;
 	private static final int UB_ENEMY_TYPES = 6;
 	private static final EFlavor[] enemyTypeArray = EFlavor.values();
 	
-	private static final Random r = new Random();
+	private final Random r;
 	
 	private int currentSemester = 0;
-	private Point[] waypoints;
+	private EnemyPath path;
 	private int enemyCount;
+	
+	public WaveControllerFactory() {
+		this(new Random());
+	}
+	
+	/**
+	 * @param random Picks the flavors of the enemies, pass a seeded one
+	 * to get the same waves every time
+	 */
+	public WaveControllerFactory(Random random) {
+		this.r = random;
+	}
 		
 	/**
 	 * Returns upcoming wave controller
@@ -61,23 +72,49 @@ public class WaveControllerFactory {
 	 * @see WaveController
 	 */
 	public WaveController constructWaveController(Object parsedJson, Point[] waypointArray) {
-		this.waypoints = waypointArray;
-		
-		int[][] semester = new int[NUMBER_OF_WAVES][];
-
-		this.enemyCount = parsedJson.getInt("enemyCount");
-		Json.Array semesterArr = parsedJson.getArray("waves");
-
-		for (int row = 0; row < NUMBER_OF_WAVES; row++) {
-			Json.Array gridRow = semesterArr.getArray(row);
-			
-			semester[row] = parseEnemyStats(gridRow);
-		}
+		return constructWaveController(WaveStats.fromJson(parsedJson), waypointArray);
+	}
+	
+	/**
+	 * Returns upcoming wave controller
+	 * 
+	 * @param compiled the waves compiled at build time
+	 * @param waypointArray Queue of waypoints for current level
+	 * @return next WaveController
+	 * @see WaveCodec
+	 */
+	public WaveController constructWaveController(byte[] compiled, Point[] waypointArray) {
+		return constructWaveController(WaveCodec.decode(compiled), waypointArray);
+	}
+	
+	/**
+	 * Returns upcoming wave controller
+	 * 
+	 * @param stats the stats of the enemies of every wave
+	 * @param waypointArray Queue of waypoints for current level
+	 * @return next WaveController
+	 * @see WaveController
+	 */
+	public WaveController constructWaveController(WaveStats stats, Point[] waypointArray) {
+		return constructWaveController(stats, new EnemyPath(waypointArray));
+	}
+	
+	/**
+	 * Returns upcoming wave controller
+	 * 
+	 * @param stats the stats of the enemies of every wave
+	 * @param path the path the enemies walk along, shared by all of them
+	 * @return next WaveController
+	 * @see WaveController
+	 */
+	public WaveController constructWaveController(WaveStats stats, EnemyPath path) {
+		this.path = path;
+		this.enemyCount = stats.enemyCount();
 		
 		currentSemester++;
 		
-		Queue<Wave> waves = createWaves(semester);
-		waves.add(createEndboss(parsedJson.getArray("endboss")));
+		Queue<Wave> waves = createWaves(stats.waves());
+		waves.add(createEndboss(stats.endboss()));
 		
 		return new WaveController(waves);
 	}
@@ -92,9 +129,10 @@ public class WaveControllerFactory {
 	private Queue<Wave> createWaves(int[][] semesters) {
 		Queue<Wave> waves = new LinkedList<Wave>();
 		for (int waveNumber = 0; waveNumber < NUMBER_OF_WAVES; waveNumber++) {
-			List<Enemy> enemies = new LinkedList<Enemy>();
+			// All enemies of a wave share one pool instead of one each
+			EnemyPool enemies = new EnemyPool(enemyCount);
 			for (int enemyNumber = 0; enemyNumber < enemyCount; enemyNumber++) {	
-				enemies.add(createEnemy(semesters[waveNumber]));
+				createEnemy(enemies, semesters[waveNumber]);
 			}
 			Wave wave = new Wave(waveNumber, enemies);
 			waves.add(wave);
@@ -104,45 +142,29 @@ public class WaveControllerFactory {
 	
 	/**
 	 * Creates the wave of the endboss with the given stats
-	 * @param json The json array
+	 * @param stats The stats of the endboss
 	 * @return
 	 */
-	private Wave createEndboss(Json.Array json) {
-		List<Enemy> enemy = new LinkedList<Enemy>();
-		int[] stats = parseEnemyStats(json);
-		enemy.add(new Enemy(stats[0], stats[1], stats[2], EFlavor.ENDBOSS, waypoints));
+	private Wave createEndboss(int[] stats) {
+		EnemyPool enemy = new EnemyPool(1);
+		enemy.spawn(stats[0], stats[1], stats[2], EFlavor.ENDBOSS, path);
 		return new Wave(NUMBER_OF_WAVES, enemy);
 	}
 	
-	/**
-	 * Converts the json array to an int array with 3 fields 
-	 * which holds the stats of an enemy
-	 * @param json The json array
-	 * @return The array containing the parsed stats
-	 */
-	private int[] parseEnemyStats(Json.Array json) {
-		int[] stats = new int[NUMBER_OF_ATTRIBUTES];
-		
-		for (int i = 0; i < NUMBER_OF_ATTRIBUTES; i++) {
-			stats[i] = json.getInt(i);
-		}
-		
-		return stats;
-	}
-
 	/**
 	 * Creates an enemy with the given stats
+	 * @param enemies The pool of the wave the enemy is created in
 	 * @param stats Array must contain of 3 field.<br>
 	 * 		<b></code>maxHealth = stats[0]</code></b><br>
 	 * 		<b></code>speed = stats[1]</code></b><br>
 	 * 		<b></code>bounty = stats[2]</code></b>
 	 * @return The created enemy with a random {@link EFlavor}
 	 */
-	private Enemy createEnemy(int[] stats) {
+	private Enemy createEnemy(EnemyPool enemies, int[] stats) {
 		int next = r.nextInt(UB_ENEMY_TYPES);
 		EFlavor enemyType = enemyTypeArray[next];
 		
-		return new Enemy(stats[0], stats[1], stats[2], enemyType, waypoints);
+		return enemies.spawn(stats[0], stats[1], stats[2], enemyType, path);
 	}
 
 	/**
@@ -0,0 +1,69 @@
+/*  Copyright (C) 2013. All rights reserved.
+ *  Released under the terms of the GNU General Public License version 3 or later.
+ *
+ *  Contributors:
+ *  Jan-Christoph Klie - All
+ */
+
+package de.dhbw.td.core.waves;
+
+import static de.dhbw.td.core.util.GameConstants.NUMBER_OF_ATTRIBUTES;
+import static de.dhbw.td.core.util.GameConstants.NUMBER_OF_WAVES;
+import playn.core.Json;
+
+/**
+ * The stats of the enemies of all waves of a level, as written in a
+ * waves.json file. Every row holds {@code maxHealth, speed, bounty}.
+ */
+public class WaveStats {
+
+	private final int enemyCount;
+	private final int[][] waves;
+	private final int[] endboss;
+
+	/**
+	 * @param enemyCount the number of enemies per wave
+	 * @param waves the stats of the enemies of every wave
+	 * @param endboss the stats of the endboss
+	 */
+	public WaveStats(int enemyCount, int[][] waves, int[] endboss) {
+		if (waves.length != NUMBER_OF_WAVES) {
+			throw new IllegalArgumentException("A level has " + NUMBER_OF_WAVES + " waves, not " + waves.length);
+		}
+		this.enemyCount = enemyCount;
+		this.waves = waves;
+		this.endboss = endboss;
+	}
+
+	/**
+	 * @param parsedJson the parsed JSONObject of a wave.json file
+	 */
+	public static WaveStats fromJson(Json.Object parsedJson) {
+		int[][] waves = new int[NUMBER_OF_WAVES][];
+		Json.Array semesterArr = parsedJson.getArray("waves");
+		for (int row = 0; row < NUMBER_OF_WAVES; row++) {
+			waves[row] = parseEnemyStats(semesterArr.getArray(row));
+		}
+		return new WaveStats(parsedJson.getInt("enemyCount"), waves, parseEnemyStats(parsedJson.getArray("endboss")));
+	}
+
+	/**
+	 * Converts the json array to an int array with 3 fields
+	 * which holds the stats of an enemy
+	 * @param json The json array
+	 * @return The array containing the parsed stats
+	 */
+	private static int[] parseEnemyStats(Json.Array json) {
+		int[] stats = new int[NUMBER_OF_ATTRIBUTES];
+
+		for (int i = 0; i < NUMBER_OF_ATTRIBUTES; i++) {
+			stats[i] = json.getInt(i);
+		}
+
+		return stats;
+	}
+
+	public int enemyCount() { return enemyCount; }
+	public int[][] waves() { return waves; }
+	public int[] endboss() { return endboss; }
+}
@@ -0,0 +1,161 @@
+/*  Copyright (C) 2013. All rights reserved.
+ *  Released under the terms of the GNU General Public License version 3 or later.
+ *
+ *  Contributors:
+ *  Jan-Christoph Klie - All
+ */
+
+package de.dhbw.td.tools;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+
+import playn.core.Json;
+import playn.core.json.JsonImpl;
+import de.dhbw.td.core.game.IGameDataSource;
+import de.dhbw.td.core.resources.ELevelText;
+import de.dhbw.td.core.resources.ETowerText;
+import de.dhbw.td.core.resources.EWaveText;
+import de.dhbw.td.core.util.Base64;
+import de.dhbw.td.core.util.EFlavor;
+
+/**
+ * Game data read straight from the classpath, without a PlayN platform.
+ * Used to run the simulation headless, e.g. for bots, balancing and tests.
+ * The files are looked up by the same paths as the assets, relative to the
+ * given root. JVM only, which is why it is not part of the core packages.
+ */
+public class ClasspathDataSource implements IGameDataSource {
+
+	/** Where the assets of the game are packaged */
+	public static final String ASSET_ROOT = "/de/dhbw/td/resources/";
+
+	private final String root;
+	private final Json json = new JsonImpl();
+
+	public ClasspathDataSource() {
+		this(ASSET_ROOT);
+	}
+
+	/**
+	 * @param root the classpath directory containing the levels/, waves/
+	 *            and tower/ folders, ending with a slash
+	 */
+	public ClasspathDataSource(String root) {
+		this.root = root;
+	}
+
+	@Override
+	public String levelText(int levelNumber) {
+		return loadText(ELevelText.getLevelPath(levelNumber));
+	}
+
+	@Override
+	public Json.Object wavesJson(int levelNumber) {
+		return load(EWaveText.getWaveControllerPath(levelNumber));
+	}
+
+	@Override
+	public byte[] compiledLevel(int levelNumber) {
+		return loadCompiled(ELevelText.getCompiledLevelPath(levelNumber));
+	}
+
+	@Override
+	public byte[] compiledWaves(int levelNumber) {
+		return loadCompiled(EWaveText.getCompiledWavesPath(levelNumber));
+	}
+
+	@Override
+	public Json.Object towerJson(EFlavor flavor) {
+		return load(ETowerText.getTowerPathByFlavor(flavor));
+	}
+
+	/**
+	 * The classpath is read synchronously, a level is always there
+	 */
+	@Override
+	public boolean isLevelLoaded(int levelNumber) {
+		return true;
+	}
+
+	@Override
+	public void releaseLevel(int levelNumber) {
+		/* NOOP */
+	}
+
+	/**
+	 * Loads a level or waves compiled at build time
+	 *
+	 * @return the compiled bytes, null if they are not on the classpath
+	 * @throws RuntimeException if there is an error reading the resource
+	 */
+	private byte[] loadCompiled(String path) {
+		InputStream in = getClass().getResourceAsStream(root + path);
+		if (in == null) {
+			return null;
+		}
+
+		try {
+			return Base64.decode(read(in));
+		} catch (Exception e) {
+			throw new RuntimeException("Could not load " + root + path + ". " + e.getMessage());
+		} finally {
+			close(in);
+		}
+	}
+
+	/**
+	 * Loads and parses an JSON resource
+	 *
+	 * @throws RuntimeException if there is an error loading or parsing the JSON resource
+	 */
+	private Json.Object load(String path) {
+		String text = loadText(path);
+		try {
+			return json.parse(text);
+		} catch (Exception e) {
+			throw new RuntimeException("Could not parse JSON at " + root + path + ". " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Loads a text resource
+	 *
+	 * @throws RuntimeException if there is an error loading the resource
+	 */
+	private String loadText(String path) {
+		InputStream in = getClass().getResourceAsStream(root + path);
+		if (in == null) {
+			throw new RuntimeException("Could not find " + root + path);
+		}
+
+		try {
+			return read(in);
+		} catch (Exception e) {
+			throw new RuntimeException("Could not load " + root + path + ". " + e.getMessage());
+		} finally {
+			close(in);
+		}
+	}
+
+	private static void close(InputStream in) {
+		try {
+			in.close();
+		} catch (IOException e) {
+			/* NOOP */
+		}
+	}
+
+	private static String read(InputStream in) throws IOException {
+		Reader reader = new InputStreamReader(in, "UTF-8");
+		StringBuilder sb = new StringBuilder();
+		char[] buffer = new char[4096];
+		int n;
+		while ((n = reader.read(buffer)) != -1) {
+			sb.append(buffer, 0, n);
+		}
+		return sb.toString();
+	}
+}
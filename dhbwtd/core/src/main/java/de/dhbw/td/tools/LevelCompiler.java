@@ -0,0 +1,157 @@
+/*  Copyright (C) 2013. All rights reserved.
+ *  Released under the terms of the GNU General Public License version 3 or later.
+ *
+ *  Contributors:
+ *  Jan-Christoph Klie - All
+ */
+
+package de.dhbw.td.tools;
+
+import static de.dhbw.td.core.util.GameConstants.COMPILED_EXTENSION;
+import static de.dhbw.td.core.util.GameConstants.PATH_LEVELS;
+import static de.dhbw.td.core.util.GameConstants.PATH_WAVES;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+
+import playn.core.Json;
+import playn.core.json.JsonImpl;
+import de.dhbw.td.core.level.Level;
+import de.dhbw.td.core.level.LevelCodec;
+import de.dhbw.td.core.level.LevelFactory;
+import de.dhbw.td.core.util.Base64;
+import de.dhbw.td.core.waves.WaveCodec;
+import de.dhbw.td.core.waves.WaveStats;
+
+/**
+ * Compiles the levels and waves from JSON into the binary form the game
+ * loads, see {@link LevelCodec} and {@link WaveCodec}. Run by the build,
+ * the JSON files stay the ones to edit.
+ *
+ * <pre>
+ * LevelCompiler &lt;asset root&gt; &lt;output root&gt;
+ * </pre>
+ *
+ * Both roots contain the levels/ and waves/ folders. A level which cannot
+ * be built fails the build, so a broken path is found before the game runs.
+ * It needs java.io, so it stays out of the core packages the browser build
+ * compiles.
+ */
+public class LevelCompiler {
+
+	private final Json json = new JsonImpl();
+	private final LevelFactory levelFactory = new LevelFactory();
+
+	public static void main(String[] args) throws IOException {
+		if (args.length != 2) {
+			System.err.println("Usage: LevelCompiler <asset root> <output root>");
+			System.exit(1);
+		}
+		LevelCompiler compiler = new LevelCompiler();
+		int levels = compiler.compileLevels(new File(args[0], PATH_LEVELS), new File(args[1], PATH_LEVELS));
+		int waves = compiler.compileWaves(new File(args[0], PATH_WAVES), new File(args[1], PATH_WAVES));
+		System.out.println("Compiled " + levels + " levels and " + waves + " waves");
+	}
+
+	/**
+	 * @return the number of levels compiled
+	 */
+	public int compileLevels(File sourceDir, File targetDir) throws IOException {
+		int count = 0;
+		for (File source : jsonFiles(sourceDir)) {
+			byte[] compiled = LevelCodec.encode(constructLevel(source));
+			write(compiled, new File(targetDir, compiledName(source)));
+			count++;
+		}
+		return count;
+	}
+
+	/**
+	 * @return the number of wave files compiled
+	 */
+	public int compileWaves(File sourceDir, File targetDir) throws IOException {
+		int count = 0;
+		for (File source : jsonFiles(sourceDir)) {
+			byte[] compiled = WaveCodec.encode(WaveStats.fromJson(parse(source)));
+			write(compiled, new File(targetDir, compiledName(source)));
+			count++;
+		}
+		return count;
+	}
+
+	private static File[] jsonFiles(File dir) throws IOException {
+		File[] files = dir.listFiles();
+		if (files == null) {
+			throw new IOException("There is no directory " + dir);
+		}
+		int n = 0;
+		for (File f : files) {
+			if (f.getName().endsWith(".json")) {
+				files[n++] = f;
+			}
+		}
+		File[] jsonFiles = new File[n];
+		System.arraycopy(files, 0, jsonFiles, 0, n);
+		return jsonFiles;
+	}
+
+	private static String compiledName(File source) {
+		String name = source.getName();
+		return name.substring(0, name.length() - ".json".length()) + COMPILED_EXTENSION;
+	}
+
+	/**
+	 * Reads the level without a Json tree, like the game does when there is no compiled level
+	 */
+	private Level constructLevel(File source) throws IOException {
+		String text = read(source);
+		try {
+			return levelFactory.constructLevel(text);
+		} catch (RuntimeException e) {
+			throw new IOException("Could not compile " + source + ". " + e.getMessage());
+		}
+	}
+
+	private Json.Object parse(File source) throws IOException {
+		String text = read(source);
+		try {
+			return json.parse(text);
+		} catch (RuntimeException e) {
+			throw new IOException("Could not compile " + source + ". " + e.getMessage());
+		}
+	}
+
+	private static String read(File source) throws IOException {
+		Reader reader = new InputStreamReader(new FileInputStream(source), "UTF-8");
+		try {
+			StringBuilder sb = new StringBuilder();
+			char[] buffer = new char[4096];
+			int n;
+			while ((n = reader.read(buffer)) != -1) {
+				sb.append(buffer, 0, n);
+			}
+			return sb.toString();
+		} finally {
+			reader.close();
+		}
+	}
+
+	private static void write(byte[] compiled, File target) throws IOException {
+		File dir = target.getParentFile();
+		if (!dir.isDirectory() && !dir.mkdirs()) {
+			throw new IOException("Could not create " + dir);
+		}
+		Writer writer = new OutputStreamWriter(new FileOutputStream(target), "US-ASCII");
+		try {
+			writer.write(Base64.encode(compiled));
+		} finally {
+			writer.close();
+		}
+	}
+}
@@ -10,9 +10,22 @@ package de.dhbw.td.test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
+import de.dhbw.td.test.cases.AllocationTest;
+import de.dhbw.td.test.cases.AssetCacheTest;
+import de.dhbw.td.test.cases.AssetPreloaderTest;
+import de.dhbw.td.test.cases.CompiledLevelTest;
+import de.dhbw.td.test.cases.EnemyGridTest;
+import de.dhbw.td.test.cases.EnemyPoolTest;
 import de.dhbw.td.test.cases.EnemyTest;
+import de.dhbw.td.test.cases.EntityListTest;
+import de.dhbw.td.test.cases.FixedStepSimulationTest;
 import de.dhbw.td.test.cases.GameStateTest;
+import de.dhbw.td.test.cases.HeadlessGameTest;
+import de.dhbw.td.test.cases.LevelCacheTest;
 import de.dhbw.td.test.cases.LevelFactoryTest;
+import de.dhbw.td.test.cases.LevelParserTest;
+import de.dhbw.td.test.cases.RollingStatsTest;
+import de.dhbw.td.test.cases.SpawnQueueTest;
 import de.dhbw.td.test.cases.WaveControllerTest;
 import de.dhbw.td.test.cases.fsm.FiniteStateMachineTest;
 
@@ -21,7 +34,7 @@ import de.dhbw.td.test.cases.fsm.FiniteStateMachineTest;
  * compiling. All tests to run have to be specified in the annotation.
  */
 @RunWith(Suite.class)
-@Suite.SuiteClasses( {  WaveControllerTest.class, LevelFactoryTest.class, GameStateTest.class, EnemyTest.class, FiniteStateMachineTest.class})
+@Suite.SuiteClasses( {  WaveControllerTest.class, LevelFactoryTest.class, GameStateTest.class, EnemyTest.class, EnemyGridTest.class, EnemyPoolTest.class, AllocationTest.class, FixedStepSimulationTest.class, HeadlessGameTest.class, SpawnQueueTest.class, RollingStatsTest.class, AssetCacheTest.class, AssetPreloaderTest.class, CompiledLevelTest.class, LevelCacheTest.class, LevelParserTest.class, EntityListTest.class, FiniteStateMachineTest.class})
 public class AppTest{
 
 
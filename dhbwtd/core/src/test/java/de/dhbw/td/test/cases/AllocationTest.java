@@ -0,0 +1,130 @@
+/*  Copyright (C) 2013. All rights reserved.
+ *  Released under the terms of the GNU General Public License version 3 or later.
+ *
+ *  Contributors:
+ *  Jan-Christoph Klie - All
+ */
+
+package de.dhbw.td.test.cases;
+
+import static de.dhbw.td.core.util.GameConstants.TILE_SIZE;
+import static de.dhbw.td.core.util.GameConstants.UPDATE_RATE;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+import junit.framework.TestCase;
+import de.dhbw.td.core.game.EGameStatus;
+import de.dhbw.td.core.game.GameState;
+import de.dhbw.td.core.level.ETileType;
+import de.dhbw.td.core.util.EFlavor;
+import de.dhbw.td.tools.ClasspathDataSource;
+
+/**
+ * Checks that a tick of the game does not allocate once it is running,
+ * since every allocation per tick turns into GC pauses on Android. Only
+ * the ticks which start a wave or a level may allocate.
+ * 
+ * The JVM itself allocates on the game thread now and then, e.g. when the
+ * compiler swaps code, so a few isolated ticks with bytes are tolerated.
+ * Allocating game code shows up in many ticks and fails.
+ */
+public class AllocationTest extends TestCase {
+
+	private static final double DELTA = 1000.0 / UPDATE_RATE;
+	private static final int WARMUP_TICKS = 2000;
+	private static final int MEASURED_TICKS = 3000;
+	/** Ticks which may allocate because of the JVM, not the game */
+	private static final int NOISY_TICKS = 3;
+
+	private com.sun.management.ThreadMXBean threadBean;
+	private GameState state;
+
+	@Override
+	protected void setUp() throws Exception {
+		threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		state = new GameState(new ClasspathDataSource(), new Random(42));
+		state.reset();
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		state = null;
+	}
+
+	public void testGameTickDoesNotAllocate() {
+		// Towers are built as the credits come in, so all pools are warm when we measure
+		for (int i = 0; i < WARMUP_TICKS; i++) {
+			buildTowerNextToPath();
+			state.update(DELTA);
+		}
+		assertTrue(state.towers().size() > 1);
+
+		long threadId = Thread.currentThread().getId();
+		long overhead = measureOverhead(threadId);
+
+		long allocated = 0;
+		int allocatingTicks = 0;
+		int measured = 0;
+		int ticksWithProjectiles = 0;
+		int kills = 0;
+		for (int i = 0; i < MEASURED_TICKS; i++) {
+			int wave = state.waveCount();
+			int level = state.levelCount();
+			int enemies = state.enemies().size() + state.queuedEnemies();
+
+			long before = threadBean.getThreadAllocatedBytes(threadId);
+			state.update(DELTA);
+			long bytes = threadBean.getThreadAllocatedBytes(threadId) - before - overhead;
+
+			if (state.waveCount() != wave || state.levelCount() != level) {
+				continue;
+			}
+			measured++;
+			if (bytes > 0) {
+				allocated += bytes;
+				allocatingTicks++;
+			}
+			kills += enemies - state.enemies().size() - state.queuedEnemies();
+			if (state.projectiles().size() > 0) {
+				ticksWithProjectiles++;
+			}
+		}
+
+		assertEquals(EGameStatus.RUNNING, state.status());
+		assertTrue("measured " + measured + " ticks", measured > MEASURED_TICKS / 2);
+		assertTrue("towers fired in " + ticksWithProjectiles + " ticks", ticksWithProjectiles > 0);
+		assertTrue("killed " + kills + " enemies", kills > 0);
+		assertTrue("allocated " + allocated + " bytes in " + allocatingTicks + " of " + measured + " ticks",
+				allocatingTicks <= NOISY_TICKS);
+	}
+
+	/**
+	 * Builds a tower on the first free tile next to the path, if there are
+	 * credits for it
+	 */
+	private void buildTowerNextToPath() {
+		ETileType[][] map = state.level().map();
+		for (int row = 1; row < map.length - 1; row++) {
+			for (int col = 1; col < map[row].length - 1; col++) {
+				if (map[row][col] == ETileType.GRID && state.getTower(col * TILE_SIZE, row * TILE_SIZE) == null
+						&& (isPath(map[row - 1][col]) || isPath(map[row + 1][col]))) {
+					state.buildTower(EFlavor.MATH, col * TILE_SIZE, row * TILE_SIZE);
+					return;
+				}
+			}
+		}
+	}
+
+	private static boolean isPath(ETileType tile) {
+		return tile != ETileType.GRID;
+	}
+
+	/**
+	 * @return the bytes allocated by asking for the allocated bytes
+	 */
+	private long measureOverhead(long threadId) {
+		long before = threadBean.getThreadAllocatedBytes(threadId);
+		return threadBean.getThreadAllocatedBytes(threadId) - before;
+	}
+}
@@ -0,0 +1,67 @@
+/*  Copyright (C) 2013. All rights reserved.
+ *  Released under the terms of the GNU General Public License version 3 or later.
+ *
+ *  Contributors:
+ *  Jan-Christoph Klie - All
+ */
+
+package de.dhbw.td.test.cases;
+
+import junit.framework.TestCase;
+import de.dhbw.td.core.resources.AssetCache;
+
+public class AssetCacheTest extends TestCase {
+
+	public void testLeastRecentlyUsedAreEvicted() {
+		AssetCache<String> cache = new AssetCache<String>(2);
+		cache.put("level1", "1");
+		cache.put("level2", "2");
+		cache.get("level1");
+		cache.put("level3", "3");
+
+		assertTrue(cache.isResident("level1"));
+		assertFalse(cache.isResident("level2"));
+		assertTrue(cache.isResident("level3"));
+		assertEquals(2, cache.size());
+	}
+
+	public void testRetainedAreNeverEvicted() {
+		AssetCache<String> cache = new AssetCache<String>(1);
+		cache.put("level1", "1");
+		assertEquals("1", cache.retain("level1"));
+		cache.put("level2", "2");
+		cache.put("level3", "3");
+
+		assertTrue(cache.isResident("level1"));
+		assertFalse(cache.isResident("level2"));
+		assertEquals(1, cache.references("level1"));
+
+		cache.release("level1");
+		assertTrue(cache.isResident("level1"));
+		assertFalse(cache.isResident("level3"));
+	}
+
+	public void testReleasedByTheLastHolder() {
+		AssetCache<String> cache = new AssetCache<String>(0);
+		assertEquals("king", cache.retain("king.png", "king"));
+		assertEquals("king", cache.retain("king.png", "another king"));
+		assertEquals(2, cache.references("king.png"));
+
+		cache.releaseAsset("king");
+		assertTrue(cache.isResident("king.png"));
+		cache.release("king.png");
+		assertFalse(cache.isResident("king.png"));
+		assertNull(cache.get("king.png"));
+	}
+
+	public void testReleaseWithoutRetain() {
+		AssetCache<String> cache = new AssetCache<String>(2);
+		cache.put("level1", "1");
+		try {
+			cache.release("level1");
+			fail("Released an asset nobody holds");
+		} catch (IllegalStateException e) {
+			// expected
+		}
+	}
+}
@@ -0,0 +1,105 @@
+/*  Copyright (C) 2013. All rights reserved.
+ *  Released under the terms of the GNU General Public License version 3 or later.
+ *
+ *  Contributors:
+ *  Jan-Christoph Klie - All
+ */
+
+package de.dhbw.td.test.cases;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import junit.framework.TestCase;
+import playn.core.Assets;
+import playn.core.Image;
+import playn.core.PlayN;
+import playn.core.StubPlatform;
+import playn.core.util.Callback;
+import playn.core.util.CallbackList;
+import de.dhbw.td.core.resources.AssetPreloader;
+
+/**
+ * Missing assets must not keep the game on the loading screen
+ */
+public class AssetPreloaderTest extends TestCase {
+
+	/**
+	 * A platform without any assets. Images fail once {@link #failImages()}
+	 * is called, like the platforms notify them later on the game thread.
+	 */
+	private static class MissingAssetsPlatform extends StubPlatform {
+
+		private final List<CallbackList<Image>> images = new ArrayList<CallbackList<Image>>();
+
+		private final Assets assets = proxy(Assets.class, new InvocationHandler() {
+			@Override
+			@SuppressWarnings("unchecked")
+			public Object invoke(Object proxy, Method method, Object[] args) {
+				if (method.getName().equals("getImage")) {
+					return missingImage();
+				}
+				if (method.getName().equals("getText")) {
+					((Callback<String>) args[1]).onFailure(new Exception("There is no " + args[0]));
+					return null;
+				}
+				throw new UnsupportedOperationException(method.getName());
+			}
+		});
+
+		@Override
+		public Assets assets() {
+			return assets;
+		}
+
+		private Image missingImage() {
+			final CallbackList<Image> callbacks = new CallbackList<Image>();
+			images.add(callbacks);
+			return proxy(Image.class, new InvocationHandler() {
+				@Override
+				@SuppressWarnings("unchecked")
+				public Object invoke(Object proxy, Method method, Object[] args) {
+					if (method.getName().equals("addCallback")) {
+						callbacks.add((Callback<Image>) args[0]);
+						return null;
+					}
+					if (method.getName().equals("isReady")) {
+						return false;
+					}
+					throw new UnsupportedOperationException(method.getName());
+				}
+			});
+		}
+
+		void failImages() {
+			for (CallbackList<Image> callbacks : images) {
+				callbacks.onFailure(new Exception("Missing image"));
+			}
+		}
+
+		private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+			return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, handler));
+		}
+	}
+
+	public void testMissingAssetsDoNotStopTheLoading() {
+		MissingAssetsPlatform platform = new MissingAssetsPlatform();
+		PlayN.setPlatform(platform);
+
+		// The images of the resource enums would stay bound to the first platform they are loaded on
+		Assets assets = platform.assets();
+		AssetPreloader preloader = new AssetPreloader(Arrays.asList(assets.getImage("a.png"), assets.getImage("b.png")));
+		preloader.start();
+		assertFalse(preloader.isDone());
+
+		platform.failImages();
+
+		assertTrue(preloader.isDone());
+		assertEquals(1f, preloader.progress());
+		assertTrue(preloader.failed() > 0);
+	}
+}
@@ -0,0 +1,105 @@
+/*  Copyright (C) 2013. All rights reserved.
+ *  Released under the terms of the GNU General Public License version 3 or later.
+ *
+ *  Contributors:
+ *  Jan-Christoph Klie - All
+ */
+
+package de.dhbw.td.test.cases;
+
+import static de.dhbw.td.core.util.GameConstants.NO_OF_LEVELZ;
+
+import java.util.Arrays;
+
+import junit.framework.TestCase;
+import pythagoras.i.Point;
+import de.dhbw.td.core.level.Level;
+import de.dhbw.td.core.level.LevelCodec;
+import de.dhbw.td.core.level.LevelFactory;
+import de.dhbw.td.core.util.Base64;
+import de.dhbw.td.core.waves.WaveCodec;
+import de.dhbw.td.core.waves.WaveStats;
+import de.dhbw.td.test.util.LevelUtil;
+import de.dhbw.td.tools.ClasspathDataSource;
+
+/**
+ * The compiled levels and waves have to be the same as the JSON they were compiled from
+ */
+public class CompiledLevelTest extends TestCase {
+
+	private ClasspathDataSource data;
+
+	@Override
+	protected void setUp() throws Exception {
+		data = new ClasspathDataSource();
+	}
+
+	public void testCompiledLevelsEqualTheJson() {
+		LevelFactory factory = new LevelFactory();
+		for (int i = 1; i <= NO_OF_LEVELZ; i++) {
+			Level fromJson = factory.constructLevel(data.levelText(i));
+			Level compiled = factory.constructLevel(Base64.decode(Base64.encode(LevelCodec.encode(fromJson))));
+
+			assertEquals(fromJson.cols(), compiled.cols());
+			assertEquals(fromJson.rows(), compiled.rows());
+			assertEquals(fromJson.tilesize(), compiled.tilesize());
+			for (int row = 0; row < fromJson.rows(); row++) {
+				assertTrue("level " + i + " row " + row, Arrays.equals(fromJson.map()[row], compiled.map()[row]));
+			}
+
+			Point[] expected = fromJson.waypoints();
+			Point[] actual = compiled.waypoints();
+			assertEquals(expected.length, actual.length);
+			for (int w = 0; w < expected.length; w++) {
+				assertEquals(expected[w], actual[w]);
+			}
+		}
+	}
+
+	/**
+	 * The waypoints of a map of more than 512 tiles lie beyond what a short holds in pixel
+	 */
+	public void testLargeLevelSurvivesCompiling() {
+		Level level = new LevelFactory().constructLevel(LevelUtil.straightLevel(600, 600, 599));
+		Level compiled = LevelCodec.decode(LevelCodec.encode(level));
+
+		assertEquals(600, compiled.cols());
+		assertEquals(600, compiled.rows());
+		assertTrue(Arrays.deepEquals(level.map(), compiled.map()));
+		assertTrue(Arrays.equals(level.waypoints(), compiled.waypoints()));
+		assertEquals(599 * 64, compiled.waypoints()[1].x);
+	}
+
+	public void testCompiledWavesEqualTheJson() {
+		for (int i = 1; i <= NO_OF_LEVELZ; i++) {
+			WaveStats fromJson = WaveStats.fromJson(data.wavesJson(i));
+			WaveStats compiled = WaveCodec.decode(WaveCodec.encode(fromJson));
+
+			assertEquals(fromJson.enemyCount(), compiled.enemyCount());
+			assertTrue(Arrays.deepEquals(fromJson.waves(), compiled.waves()));
+			assertTrue(Arrays.equals(fromJson.endboss(), compiled.endboss()));
+		}
+	}
+
+	public void testBase64OfEveryLength() {
+		for (int length = 0; length < 8; length++) {
+			byte[] bytes = new byte[length];
+			for (int i = 0; i < length; i++) {
+				bytes[i] = (byte) (250 - 37 * i);
+			}
+			assertTrue(Arrays.equals(bytes, Base64.decode(Base64.encode(bytes))));
+		}
+		assertEquals("TWFu", Base64.encode("Man".getBytes()));
+		assertEquals("TWE=", Base64.encode("Ma".getBytes()));
+	}
+
+	public void testWavesAreNoLevel() {
+		byte[] waves = WaveCodec.encode(WaveStats.fromJson(data.wavesJson(1)));
+		try {
+			LevelCodec.decode(waves);
+			fail("Decoded waves as a level");
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+	}
+}
@@ -0,0 +1,91 @@
+/*  Copyright (C) 2013. All rights reserved.
+ *  Released under the terms of the GNU General Public License version 3 or later.
+ *
+ *  Contributors:
+ *  Jan-Christoph Klie - All
+ */
+
+package de.dhbw.td.test.cases;
+
+import static de.dhbw.td.core.util.GameConstants.HEIGHT;
+import static de.dhbw.td.core.util.GameConstants.WIDTH;
+
+import java.util.Arrays;
+import java.util.List;
+
+import junit.framework.TestCase;
+import pythagoras.i.Point;
+import de.dhbw.td.core.enemies.Enemy;
+import de.dhbw.td.core.enemies.EnemyGrid;
+import de.dhbw.td.core.util.EFlavor;
+
+public class EnemyGridTest extends TestCase {
+
+	private EnemyGrid grid;
+
+	@Override
+	protected void setUp() throws Exception {
+		grid = new EnemyGrid();
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		grid = null;
+	}
+
+	private Enemy enemyAt(int x, int y) {
+		Point[] waypoints = { new Point(x, y), new Point(x + 64, y) };
+		return new Enemy(10, 1, 1, EFlavor.MATH, waypoints);
+	}
+
+	public void testEnemyOutOfRangeIsNotFound() {
+		Enemy far = enemyAt(640, 320);
+		grid.rebuild(Arrays.asList(far));
+
+		assertNull(grid.firstInRange(64, 64, 128));
+	}
+
+	public void testEnemyInRangeIsFound() {
+		Enemy near = enemyAt(100, 64);
+		grid.rebuild(Arrays.asList(near));
+
+		assertSame(near, grid.firstInRange(64, 64, 128));
+	}
+
+	/**
+	 * The towers used to take the first enemy of the list which was in
+	 * range, the grid has to keep that order even across cells
+	 */
+	public void testFirstEnemyOfListIsPreferred() {
+		Enemy first = enemyAt(200, 64);
+		Enemy second = enemyAt(70, 64);
+		List<Enemy> enemies = Arrays.asList(first, second);
+		grid.rebuild(enemies);
+
+		assertSame(first, grid.firstInRange(64, 64, 192));
+	}
+
+	public void testOffscreenAndDeadEnemiesAreIgnored() {
+		Enemy offscreen = enemyAt(-128, 64);
+		Enemy dead = enemyAt(64, 64);
+		dead.takeDamage(100);
+		grid.rebuild(Arrays.asList(offscreen, dead));
+
+		assertEquals(0, grid.size());
+		assertNull(grid.firstInRange(0, 64, 256));
+	}
+
+	/**
+	 * The border of the screen still counts as on the screen, so towers
+	 * next to it have to find enemies standing on it
+	 */
+	public void testEnemiesOnTheFarBorderAreFound() {
+		Enemy right = enemyAt(WIDTH, 64);
+		Enemy bottom = enemyAt(64, HEIGHT);
+		grid.rebuild(Arrays.asList(right, bottom));
+
+		assertEquals(2, grid.size());
+		assertSame(right, grid.firstInRange(WIDTH - 32, 64, 64));
+		assertSame(bottom, grid.firstInRange(64, HEIGHT - 32, 64));
+	}
+}
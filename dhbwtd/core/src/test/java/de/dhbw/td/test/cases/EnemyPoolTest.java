@@ -0,0 +1,158 @@
+/*  Copyright (C) 2013. All rights reserved.
+ *  Released under the terms of the GNU General Public License version 3 or later.
+ *
+ *  Contributors:
+ *  Jan-Christoph Klie - All
+ */
+
+package de.dhbw.td.test.cases;
+
+import junit.framework.TestCase;
+import pythagoras.i.Point;
+import de.dhbw.td.core.enemies.EDirection;
+import de.dhbw.td.core.enemies.Enemy;
+import de.dhbw.td.core.enemies.EnemyPath;
+import de.dhbw.td.core.enemies.EnemyPool;
+import de.dhbw.td.core.enemies.HealthBar;
+import de.dhbw.td.core.util.EFlavor;
+
+public class EnemyPoolTest extends TestCase {
+
+	private EnemyPool pool;
+	private EnemyPath path;
+
+	@Override
+	protected void setUp() throws Exception {
+		Point[] waypoints = { new Point(0, 0), new Point(100, 0), new Point(100, 100) };
+		path = new EnemyPath(waypoints);
+		pool = new EnemyPool();
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		pool = null;
+	}
+
+	public void testSpawnCopyCopiesPositionAndStats() {
+		Enemy original = new Enemy(10, 50, 3, EFlavor.SOCIAL, path);
+		original.moveAlongPath(-64);
+
+		Enemy copy = pool.spawnCopy(original);
+
+		assertEquals(1, pool.size());
+		assertEquals(-64, copy.x());
+		assertEquals(10, copy.maxHealth());
+		assertEquals(6, copy.penalty());
+		assertEquals(EFlavor.SOCIAL, copy.enemyType());
+	}
+
+	/**
+	 * Handles have to follow their enemy when the pool is compacted, and
+	 * removed enemies must not turn into another enemy
+	 */
+	public void testHandlesSurviveCompaction() {
+		Enemy first = pool.spawn(10, 50, 1, EFlavor.MATH, path);
+		Enemy second = pool.spawn(20, 50, 1, EFlavor.MATH, path);
+		Enemy third = pool.spawn(30, 50, 1, EFlavor.MATH, path);
+
+		second.takeDamage(20);
+		pool.removeLater(1);
+		pool.compact();
+
+		assertEquals(2, pool.size());
+		assertSame(first, pool.get(0));
+		assertSame(third, pool.get(1));
+		assertEquals(30, third.maxHealth());
+
+		assertFalse(second.alive());
+		assertEquals(20, second.maxHealth());
+
+		pool.spawn(40, 50, 1, EFlavor.MATH, path);
+		assertEquals(20, second.maxHealth());
+	}
+
+	/**
+	 * Removed enemies share the graveyard of the pool, the ones removed
+	 * longest ago are dropped from it but stay dead
+	 */
+	public void testGraveyardKeepsTheLastRemovedEnemies() {
+		Enemy first = pool.spawn(1, 50, 1, EFlavor.MATH, path);
+		pool.clear();
+		assertEquals(1, first.maxHealth());
+
+		Enemy last = null;
+		for (int i = 0; i < EnemyPool.GRAVEYARD_SIZE; i++) {
+			last = pool.spawn(100 + i, 50, 1, EFlavor.MATH, path);
+			last.takeDamage(100 + i);
+			pool.removeLater(0);
+			pool.compact();
+		}
+
+		assertTrue(pool.isEmpty());
+		assertFalse(first.alive());
+		assertEquals(0, first.maxHealth());
+		assertFalse(last.alive());
+		assertEquals(100 + EnemyPool.GRAVEYARD_SIZE - 1, last.maxHealth());
+	}
+
+	public void testUpdateMovesAllEnemies() {
+		Enemy a = pool.spawn(10, 1000, 1, EFlavor.MATH, path);
+		Enemy b = pool.spawn(10, 500, 1, EFlavor.MATH, path);
+
+		pool.update(10);
+
+		assertEquals(10, a.x());
+		assertEquals(5, b.x());
+	}
+
+	/**
+	 * An enemy which moves less than a pixel per update has to get
+	 * somewhere nevertheless
+	 */
+	public void testSlowEnemiesMoveWithSubPixelPrecision() {
+		Enemy slow = pool.spawn(10, 25, 1, EFlavor.MATH, path);
+
+		for (int i = 0; i < 100; i++) {
+			pool.update(10);
+		}
+
+		assertEquals(25.0, slow.distance(), 1e-9);
+		assertEquals(25, slow.x());
+	}
+
+	public void testEnemiesTurnAtWaypoints() {
+		Enemy e = pool.spawn(10, 1000, 1, EFlavor.MATH, path);
+
+		pool.update(130);
+
+		assertEquals(100, e.x());
+		assertEquals(30, e.y());
+		assertEquals(EDirection.DOWN, e.direction());
+	}
+
+	public void testEnemiesStartOverAtTheEndOfThePath() {
+		Enemy e = pool.spawn(10, 1000, 1, EFlavor.MATH, path);
+
+		pool.update(210);
+
+		assertTrue(e.hasReachedEnd());
+		assertEquals(10, e.x());
+		assertEquals(0, e.y());
+	}
+
+	public void testHealthStateFollowsDamage() {
+		Enemy e = pool.spawn(100, 50, 1, EFlavor.MATH, path);
+		assertEquals(HealthBar.HEALTH_STATE_COUNT - 1, e.healthState());
+		assertEquals(1f, e.relativeHealth());
+
+		e.takeDamage(45);
+
+		assertEquals(5, e.healthState());
+		assertEquals(0.55f, e.relativeHealth(), 0.0001f);
+
+		e.takeDamage(100);
+
+		assertEquals(0, e.healthState());
+		assertEquals(0f, e.relativeHealth());
+	}
+}
@@ -0,0 +1,73 @@
+/*  Copyright (C) 2013. All rights reserved.
+ *  Released under the terms of the GNU General Public License version 3 or later.
+ *
+ *  Contributors:
+ *  Jan-Christoph Klie - All
+ */
+
+package de.dhbw.td.test.cases;
+
+import junit.framework.TestCase;
+import de.dhbw.td.core.util.EntityList;
+
+public class EntityListTest extends TestCase {
+
+	private EntityList<String> list;
+
+	@Override
+	protected void setUp() throws Exception {
+		list = new EntityList<String>();
+		for (int i = 0; i < 20; i++) {
+			list.add("e" + i);
+		}
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		list = null;
+	}
+
+	/**
+	 * Removing while iterating must neither skip an entity nor move the
+	 * others before the list is compacted
+	 */
+	public void testRemoveLaterKeepsIndicesUntilCompact() {
+		int visited = 0;
+		for (int i = 0; i < list.size(); i++) {
+			assertEquals("e" + i, list.get(i));
+			if (i % 2 == 0) {
+				list.removeLater(i);
+			}
+			visited++;
+		}
+		assertEquals(20, visited);
+		assertEquals(20, list.size());
+
+		list.compact();
+
+		assertEquals(10, list.size());
+		for (int i = 0; i < list.size(); i++) {
+			assertEquals("e" + (2 * i + 1), list.get(i));
+		}
+	}
+
+	public void testSwapRemoveMovesLastEntity() {
+		assertEquals("e3", list.swapRemove(3));
+		assertEquals(19, list.size());
+		assertEquals("e19", list.get(3));
+	}
+
+	public void testRemoveKeepsTheOrder() {
+		assertEquals("e3", list.remove(3));
+		assertEquals(19, list.size());
+		assertEquals("e2", list.get(2));
+		assertEquals("e4", list.get(3));
+		assertEquals("e19", list.get(18));
+	}
+
+	public void testRemoveByObject() {
+		assertTrue(list.remove("e5"));
+		assertFalse(list.contains("e5"));
+		assertEquals(19, list.size());
+	}
+}
@@ -0,0 +1,122 @@
+/*  Copyright (C) 2013. All rights reserved.
+ *  Released under the terms of the GNU General Public License version 3 or later.
+ *
+ *  Contributors:
+ *  Jan-Christoph Klie - All
+ */
+
+package de.dhbw.td.test.cases;
+
+import junit.framework.TestCase;
+import de.dhbw.td.core.game.ESimulationSpeed;
+import de.dhbw.td.core.game.FixedStepSimulation;
+import de.dhbw.td.core.game.IUpdateable;
+import de.dhbw.td.core.profiling.IClock;
+
+public class FixedStepSimulationTest extends TestCase {
+
+	private static final double STEP = 1000.0 / 24;
+
+	private StepCounter counter;
+	private StepClock clock;
+	private FixedStepSimulation simulation;
+
+	/**
+	 * Records the steps it is updated with
+	 */
+	private static class StepCounter implements IUpdateable {
+		private int steps;
+		private double time;
+
+		@Override
+		public void update(double delta) {
+			assertEquals(STEP, delta, 1e-9);
+			steps++;
+			time += delta;
+		}
+	}
+
+	/**
+	 * A clock which advances a millisecond whenever it is read
+	 */
+	private static class StepClock implements IClock {
+		private double time;
+
+		@Override
+		public double now() {
+			return time++;
+		}
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		counter = new StepCounter();
+		clock = new StepClock();
+		simulation = new FixedStepSimulation(counter, clock, STEP, 32, 10);
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		simulation = null;
+		clock = null;
+		counter = null;
+	}
+
+	public void testSmallFramesAreAccumulated() {
+		for (int i = 0; i < 3; i++) {
+			simulation.advance(STEP / 3);
+		}
+		assertEquals(1, counter.steps);
+	}
+
+	/**
+	 * Fast forward has to run the same steps as normal speed, only more
+	 * of them per frame
+	 */
+	public void testFastForwardRunsSameStepsAsNormalSpeed() {
+		for (int i = 0; i < 16; i++) {
+			simulation.advance(STEP);
+		}
+		int normalSteps = counter.steps;
+		double normalTime = counter.time;
+
+		counter = new StepCounter();
+		simulation = new FixedStepSimulation(counter, clock, STEP, 32, 10);
+		simulation.setSpeed(ESimulationSpeed.FASTEST);
+		assertEquals(16, simulation.advance(STEP));
+
+		assertEquals(normalSteps, counter.steps);
+		assertEquals(normalTime, counter.time, 1e-6);
+	}
+
+	public void testCatchUpIsLimited() {
+		assertEquals(32, simulation.advance(100 * STEP));
+		assertTrue(simulation.alpha() < 1);
+		assertEquals(1, simulation.advance(STEP));
+	}
+
+	/**
+	 * Drawing between frames has to move on with the time which is not
+	 * simulated yet, scaled by the speed
+	 */
+	public void testAlphaIncludesPendingTime() {
+		simulation.advance(STEP / 2);
+		assertEquals(0.5, simulation.alpha(), 1e-9);
+		assertEquals(0.75, simulation.alpha(STEP / 4), 1e-9);
+		assertEquals(1.0, simulation.alpha(STEP), 1e-9);
+
+		simulation.setSpeed(ESimulationSpeed.FAST);
+		assertEquals(0.75, simulation.alpha(STEP / (4 * ESimulationSpeed.FAST.factor)), 1e-9);
+	}
+
+	/**
+	 * Unlimited speed runs steps until the frame budget of 10 ms is spent
+	 */
+	public void testUnlimitedSpeedSpendsTheFrameBudget() {
+		simulation.setSpeed(ESimulationSpeed.UNLIMITED);
+
+		assertEquals(10, simulation.advance(STEP));
+		assertEquals(10, counter.steps);
+		assertEquals(0.0, simulation.alpha());
+	}
+}
@@ -0,0 +1,104 @@
+/*  Copyright (C) 2013. All rights reserved.
+ *  Released under the terms of the GNU General Public License version 3 or later.
+ *
+ *  Contributors:
+ *  Jan-Christoph Klie - All
+ */
+
+package de.dhbw.td.test.cases;
+
+import static de.dhbw.td.core.util.GameConstants.TILE_SIZE;
+import static de.dhbw.td.core.util.GameConstants.UPDATE_RATE;
+
+import java.util.List;
+
+import junit.framework.TestCase;
+import de.dhbw.td.core.enemies.Enemy;
+import de.dhbw.td.core.game.EGameStatus;
+import de.dhbw.td.core.game.GameState;
+import de.dhbw.td.core.game.HeadlessGame;
+import de.dhbw.td.core.level.ETileType;
+import de.dhbw.td.core.util.EFlavor;
+import de.dhbw.td.tools.ClasspathDataSource;
+
+/**
+ * Runs the simulation without registering a PlayN platform
+ */
+public class HeadlessGameTest extends TestCase {
+
+	private static final int TICKS = 2000;
+
+	private ClasspathDataSource data;
+
+	@Override
+	protected void setUp() throws Exception {
+		data = new ClasspathDataSource();
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		data = null;
+	}
+
+	public void testGameRunsHeadless() {
+		HeadlessGame game = new HeadlessGame(data, 1, UPDATE_RATE);
+		game.start();
+
+		for (int i = 0; i < TICKS; i++) {
+			game.tick();
+		}
+
+		GameState state = game.state();
+		assertEquals(TICKS, game.ticks());
+		assertEquals(1, state.levelCount());
+		assertEquals(EGameStatus.RUNNING, state.status());
+	}
+
+	/**
+	 * Two games with the same seed and the same towers have to play out
+	 * exactly the same
+	 */
+	public void testSameSeedPlaysTheSameGame() {
+		HeadlessGame first = startWithTower(42);
+		HeadlessGame second = startWithTower(42);
+
+		for (int i = 0; i < TICKS; i++) {
+			first.tick();
+			second.tick();
+		}
+
+		GameState a = first.state();
+		GameState b = second.state();
+		assertEquals(a.credits(), b.credits());
+		assertEquals(a.lifepoints(), b.lifepoints());
+		assertEquals(a.waveCount(), b.waveCount());
+
+		List<Enemy> enemiesA = a.enemies();
+		List<Enemy> enemiesB = b.enemies();
+		assertEquals(enemiesA.size(), enemiesB.size());
+		for (int i = 0; i < enemiesA.size(); i++) {
+			assertEquals(enemiesA.get(i).enemyType(), enemiesB.get(i).enemyType());
+			assertEquals(enemiesA.get(i).curHealth(), enemiesB.get(i).curHealth());
+			assertEquals(enemiesA.get(i).distance(), enemiesB.get(i).distance());
+		}
+	}
+
+	private HeadlessGame startWithTower(long seed) {
+		HeadlessGame game = new HeadlessGame(data, seed, UPDATE_RATE);
+		game.start();
+
+		GameState state = game.state();
+		ETileType[][] map = state.level().map();
+		for (int row = 1; row < map.length - 1; row++) {
+			for (int col = 0; col < map[row].length; col++) {
+				if (map[row][col] == ETileType.GRID) {
+					state.buildTower(EFlavor.MATH, col * TILE_SIZE, row * TILE_SIZE);
+					assertEquals(1, state.towers().size());
+					return game;
+				}
+			}
+		}
+		fail("No tile to build on");
+		return null;
+	}
+}
@@ -0,0 +1,164 @@
+/*  Copyright (C) 2013. All rights reserved.
+ *  Released under the terms of the GNU General Public License version 3 or later.
+ *
+ *  Contributors:
+ *  Jan-Christoph Klie - All
+ */
+
+package de.dhbw.td.test.cases;
+
+import static de.dhbw.td.core.util.GameConstants.COLS;
+import static de.dhbw.td.core.util.GameConstants.ROWS;
+import static de.dhbw.td.core.util.GameConstants.TILE_SIZE;
+
+import java.util.Random;
+
+import junit.framework.TestCase;
+import playn.core.Json;
+import pythagoras.i.Point;
+import de.dhbw.td.core.game.GameState;
+import de.dhbw.td.core.game.IGameDataSource;
+import de.dhbw.td.core.game.LevelCache;
+import de.dhbw.td.core.level.Level;
+import de.dhbw.td.core.util.EFlavor;
+import de.dhbw.td.test.util.LevelUtil;
+import de.dhbw.td.tools.ClasspathDataSource;
+
+public class LevelCacheTest extends TestCase {
+
+	/**
+	 * Counts how often the levels and waves are read
+	 */
+	private static class CountingDataSource implements IGameDataSource {
+
+		private final ClasspathDataSource data = new ClasspathDataSource();
+		/** Played instead of the shipped levels if set */
+		String customLevel;
+		/** Whether the levels arrived, like the assets of a platform */
+		boolean loaded = true;
+		int levelReads;
+		int wavesReads;
+		int releases;
+
+		@Override
+		public String levelText(int levelNumber) {
+			levelReads++;
+			return customLevel != null ? customLevel : data.levelText(levelNumber);
+		}
+
+		@Override
+		public Json.Object wavesJson(int levelNumber) {
+			wavesReads++;
+			return data.wavesJson(levelNumber);
+		}
+
+		@Override
+		public byte[] compiledLevel(int levelNumber) {
+			return null;
+		}
+
+		@Override
+		public byte[] compiledWaves(int levelNumber) {
+			return null;
+		}
+
+		@Override
+		public Json.Object towerJson(EFlavor flavor) {
+			return data.towerJson(flavor);
+		}
+
+		@Override
+		public boolean isLevelLoaded(int levelNumber) {
+			return loaded;
+		}
+
+		@Override
+		public void releaseLevel(int levelNumber) {
+			releases++;
+		}
+	}
+
+	public void testRestartIsALookup() {
+		CountingDataSource data = new CountingDataSource();
+		GameState state = new GameState(data, new Random(1));
+
+		state.reset();
+		Level first = state.level();
+		state.reset();
+		state.reset();
+
+		assertSame(first, state.level());
+		assertEquals(1, data.levelReads);
+		assertEquals(1, data.wavesReads);
+	}
+
+	public void testEveryLevelIsBuiltOnce() {
+		CountingDataSource data = new CountingDataSource();
+		LevelCache cache = new LevelCache(data);
+
+		for (int i = 0; i < 3; i++) {
+			for (int level = 1; level <= 2; level++) {
+				assertNotNull(cache.level(level));
+				assertNotNull(cache.enemyPath(level));
+				assertNotNull(cache.waveStats(level));
+			}
+		}
+		assertSame(cache.enemyPath(1), cache.enemyPath(1));
+		assertEquals(2, data.levelReads);
+		assertEquals(2, data.wavesReads);
+	}
+
+	public void testEnemiesStartAndEndOffTheScreen() {
+		LevelCache cache = new LevelCache(new ClasspathDataSource());
+		Point[] path = cache.enemyPath(1).waypoints();
+		Point[] level = cache.level(1).waypoints();
+
+		assertEquals(level.length + 2, path.length);
+		assertTrue(path[0].x < 0);
+		assertEquals(level[0], path[1]);
+		assertEquals(level[level.length - 1], path[path.length - 2]);
+	}
+
+	/**
+	 * Enemies leave a map wider than the screen behind its last column,
+	 * not where the screen ends
+	 */
+	public void testEnemiesLeaveWideMapsAtTheirEnd() {
+		CountingDataSource data = new CountingDataSource();
+		data.customLevel = LevelUtil.straightLevel(3 * COLS, ROWS, 3);
+		LevelCache cache = new LevelCache(data);
+
+		Point[] path = cache.enemyPath(1).waypoints();
+		Level level = cache.level(1);
+
+		assertEquals(3 * COLS, level.cols());
+		assertEquals((3 * COLS + 1) * TILE_SIZE, path[path.length - 1].x);
+		for (int i = 1; i < path.length; i++) {
+			assertTrue("waypoint " + i + " goes back", path[i].x >= path[i - 1].x);
+		}
+	}
+
+	/**
+	 * A level which did not arrive yet is not built, the game waits for it
+	 * instead of loading it synchronously
+	 */
+	public void testGameWaitsForTheLevelToLoad() {
+		CountingDataSource data = new CountingDataSource();
+		data.loaded = false;
+		GameState state = new GameState(data, new Random(1));
+
+		state.reset();
+		state.update(10);
+		assertTrue(state.isLoadingLevel());
+		assertNull(state.level());
+		assertEquals(0, data.levelReads);
+
+		data.loaded = true;
+		state.update(10);
+		assertFalse(state.isLoadingLevel());
+		assertNotNull(state.level());
+		assertEquals(1, state.levelCount());
+		assertEquals(1, data.levelReads);
+		assertEquals(1, data.releases);
+	}
+}
@@ -0,0 +1,93 @@
+/*  Copyright (C) 2013. All rights reserved.
+ *  Released under the terms of the GNU General Public License version 3 or later.
+ *
+ *  Contributors:
+ *  Jan-Christoph Klie - All
+ */
+
+package de.dhbw.td.test.cases;
+
+import static de.dhbw.td.core.util.GameConstants.NO_OF_LEVELZ;
+import static de.dhbw.td.test.util.LevelUtil.straightLevel;
+
+import java.util.Arrays;
+
+import junit.framework.TestCase;
+import playn.core.json.JsonImpl;
+import pythagoras.i.Point;
+import de.dhbw.td.core.level.ETileType;
+import de.dhbw.td.core.level.Level;
+import de.dhbw.td.core.level.LevelFactory;
+import de.dhbw.td.tools.ClasspathDataSource;
+
+/**
+ * Levels read from their text have to be the same as levels built from a Json tree
+ */
+public class LevelParserTest extends TestCase {
+
+	private LevelFactory factory;
+
+	@Override
+	protected void setUp() throws Exception {
+		factory = new LevelFactory();
+	}
+
+	public void testShippedLevelsEqualTheJsonTree() {
+		ClasspathDataSource data = new ClasspathDataSource();
+		for (int i = 1; i <= NO_OF_LEVELZ; i++) {
+			String text = data.levelText(i);
+			assertSameLevel(factory.constructLevel(new JsonImpl().parse(text)), factory.constructLevel(text));
+		}
+	}
+
+	public void testSizeIsTakenFromTheFile() {
+		Level level = factory.constructLevel(straightLevel(300, 200, 150));
+
+		assertEquals(300, level.cols());
+		assertEquals(200, level.rows());
+		assertEquals(ETileType.PATH_START, level.map()[150][0]);
+		assertEquals(ETileType.PATH_END, level.map()[150][299]);
+
+		Point[] waypoints = level.waypoints();
+		assertEquals(2, waypoints.length);
+		assertEquals(new Point(299 * 64, 150 * 64), waypoints[1]);
+	}
+
+	public void testTilesMayComeAfterTheSize() {
+		String tilesFirst = straightLevel(5, 3, 1);
+		String tilesLast = "{\"width\": 5, \"height\": 3, \"tilesize\": 64, \"startx\": 0, \"starty\": 1, \"note\": {\"a\": [1, \"]\"]}, "
+				+ tilesFirst.substring(1, tilesFirst.indexOf("], \"width\"") + 1) + "}";
+
+		assertSameLevel(factory.constructLevel(tilesFirst), factory.constructLevel(tilesLast));
+	}
+
+	public void testRowLongerThanTheWidth() {
+		assertMalformed("{\"tiles\": [[9, 10, 0]], \"width\": 2, \"height\": 1, \"tilesize\": 64, \"startx\": 0, \"starty\": 0}");
+	}
+
+	public void testMissingSize() {
+		assertMalformed("{\"tiles\": [[9, 10]], \"height\": 1, \"tilesize\": 64, \"startx\": 0, \"starty\": 0}");
+	}
+
+	public void testTruncatedText() {
+		String text = straightLevel(5, 3, 1);
+		assertMalformed(text.substring(0, text.length() / 2));
+	}
+
+	private void assertMalformed(String text) {
+		try {
+			factory.constructLevel(text);
+			fail("Read a malformed level");
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+	}
+
+	private static void assertSameLevel(Level expected, Level actual) {
+		assertEquals(expected.cols(), actual.cols());
+		assertEquals(expected.rows(), actual.rows());
+		assertEquals(expected.tilesize(), actual.tilesize());
+		assertTrue(Arrays.deepEquals(expected.map(), actual.map()));
+		assertTrue(Arrays.equals(expected.waypoints(), actual.waypoints()));
+	}
+}
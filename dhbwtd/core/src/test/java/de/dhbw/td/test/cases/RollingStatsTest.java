@@ -0,0 +1,46 @@
+/*  Copyright (C) 2013. All rights reserved.
+ *  Released under the terms of the GNU General Public License version 3 or later.
+ *
+ *  Contributors:
+ *  Jan-Christoph Klie - All
+ */
+
+package de.dhbw.td.test.cases;
+
+import junit.framework.TestCase;
+import de.dhbw.td.core.profiling.ProfilerSnapshot;
+import de.dhbw.td.core.profiling.RollingStats;
+
+public class RollingStatsTest extends TestCase {
+
+	public void testPercentilesOfTheSamples() {
+		RollingStats stats = new RollingStats(100);
+		for (int i = 100; i >= 1; i--) {
+			stats.add(i);
+		}
+
+		assertEquals(50.0, stats.percentile(0.5));
+		assertEquals(99.0, stats.percentile(0.99));
+		assertEquals(100.0, stats.percentile(1));
+	}
+
+	public void testOnlyTheLatestSamplesAreKept() {
+		RollingStats stats = new RollingStats(4);
+		for (int i = 1; i <= 8; i++) {
+			stats.add(i);
+		}
+
+		assertEquals(4, stats.count());
+		assertEquals(5.0, stats.percentile(0.01));
+		assertEquals(8.0, stats.percentile(1));
+	}
+
+	public void testNoSamples() {
+		assertEquals(0.0, new RollingStats(4).percentile(0.5));
+	}
+
+	public void testMillisAreFormattedWithThreeDecimals() {
+		assertEquals("0.042", ProfilerSnapshot.formatMillis(0.0421));
+		assertEquals("12.500", ProfilerSnapshot.formatMillis(12.5));
+	}
+}
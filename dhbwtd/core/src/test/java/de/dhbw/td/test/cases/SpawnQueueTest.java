@@ -0,0 +1,83 @@
+/*  Copyright (C) 2013. All rights reserved.
+ *  Released under the terms of the GNU General Public License version 3 or later.
+ *
+ *  Contributors:
+ *  Jan-Christoph Klie - All
+ */
+
+package de.dhbw.td.test.cases;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.TestCase;
+import pythagoras.i.Point;
+import de.dhbw.td.core.enemies.Enemy;
+import de.dhbw.td.core.enemies.EnemyPath;
+import de.dhbw.td.core.enemies.EnemyPool;
+import de.dhbw.td.core.util.EFlavor;
+import de.dhbw.td.core.waves.SpawnQueue;
+import de.dhbw.td.core.waves.Wave;
+
+public class SpawnQueueTest extends TestCase {
+
+	private EnemyPath path;
+	private EnemyPool pool;
+	private SpawnQueue queue;
+
+	@Override
+	protected void setUp() throws Exception {
+		Point[] waypoints = { new Point(0, 0), new Point(1000, 0) };
+		path = new EnemyPath(waypoints);
+		pool = new EnemyPool();
+		queue = new SpawnQueue();
+	}
+
+	private Wave wave(double... speeds) {
+		List<Enemy> enemies = new ArrayList<Enemy>();
+		for (double speed : speeds) {
+			enemies.add(new Enemy(10, speed, 1, EFlavor.MATH, path));
+		}
+		return new Wave(1, enemies);
+	}
+
+	/**
+	 * The first enemy waits 256 pixel before the path, the second 384
+	 */
+	public void testEnemiesEnterWhenTheyReachThePath() {
+		queue.enqueue(wave(1000, 1000));
+		assertEquals(2, queue.size());
+
+		queue.activate(250, pool);
+		assertEquals(0, pool.size());
+
+		queue.activate(10, pool);
+		pool.update(0, 10);
+		assertEquals(1, pool.size());
+		assertEquals(1, queue.size());
+		assertEquals(4, pool.get(0).x());
+
+		queue.activate(130, pool);
+		assertEquals(2, pool.size());
+		assertTrue(queue.isEmpty());
+	}
+
+	public void testFasterEnemiesEnterFirst() {
+		queue.enqueue(wave(100, 1000));
+
+		queue.activate(400, pool);
+
+		assertEquals(1, pool.size());
+		assertEquals(1000.0, pool.get(0).speed());
+	}
+
+	public void testClearDropsQueuedEnemies() {
+		queue.enqueue(wave(1000));
+		queue.clear();
+
+		queue.activate(1000, pool);
+
+		assertTrue(queue.isEmpty());
+		assertEquals(0, pool.size());
+	}
+}
@@ -0,0 +1,48 @@
+/*  Copyright (C) 2013. All rights reserved.
+ *  Released under the terms of the GNU General Public License version 3 or later.
+ *
+ *  Contributors:
+ *  Jan-Christoph Klie - All
+ */
+
+package de.dhbw.td.test.util;
+
+public class LevelUtil {
+
+	private static final int PATH_HORIZONTAL = 7;
+	private static final int PATH_START = 9;
+	private static final int PATH_END = 10;
+
+	/**
+	 * Writes the JSON of a level of grid with a straight path from left to right
+	 * @param width The number of columns
+	 * @param height The number of rows
+	 * @param pathRow The row of the path
+	 * @return String JSON of the level
+	 */
+	public static String straightLevel(int width, int height, int pathRow) {
+		StringBuilder sb = new StringBuilder("{\"tiles\": [");
+		for (int row = 0; row < height; row++) {
+			sb.append(row == 0 ? "[" : ",\n[");
+			for (int col = 0; col < width; col++) {
+				if (col > 0) {
+					sb.append(", ");
+				}
+				if (row != pathRow) {
+					sb.append(0);
+				} else if (col == 0) {
+					sb.append(PATH_START);
+				} else if (col == width - 1) {
+					sb.append(PATH_END);
+				} else {
+					sb.append(PATH_HORIZONTAL);
+				}
+			}
+			sb.append(']');
+		}
+		sb.append("], \"width\": ").append(width);
+		sb.append(", \"height\": ").append(height);
+		sb.append(", \"tilesize\": 64, \"startx\": 0, \"starty\": ").append(pathRow);
+		return sb.append('}').toString();
+	}
+}
@@ -0,0 +1,40 @@
+/*  Copyright (C) 2013. All rights reserved.
+ *  Released under the terms of the GNU General Public License version 3 or later.
+ *
+ *  Contributors:
+ *  Jan-Christoph Klie - All
+ */
+
+package de.dhbw.td.java;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+
+import de.dhbw.td.core.profiling.IProfilerListener;
+import de.dhbw.td.core.profiling.ProfilerSnapshot;
+
+/**
+ * Writes every snapshot of the profiler as a line of a CSV file. Lines are
+ * flushed right away, so the file is complete whenever the game is closed.
+ */
+public class CsvProfilerListener implements IProfilerListener {
+
+	private final PrintWriter out;
+
+	/**
+	 * @param path the file to write, it is overwritten
+	 * @throws IOException if the file cannot be opened
+	 */
+	public CsvProfilerListener(String path) throws IOException {
+		out = new PrintWriter(new FileWriter(path));
+		out.println(ProfilerSnapshot.csvHeader());
+		out.flush();
+	}
+
+	@Override
+	public void onSnapshot(ProfilerSnapshot snapshot) {
+		out.println(snapshot.toCsv());
+		out.flush();
+	}
+}
@@ -0,0 +1,47 @@
+/*  Copyright (C) 2013. All rights reserved.
+ *  Released under the terms of the GNU General Public License version 3 or later.
+ *
+ *  Contributors:
+ *  Jan-Christoph Klie - All
+ */
+
+package de.dhbw.td.java;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import de.dhbw.td.core.profiling.IAllocationCounter;
+
+/**
+ * Counts the allocations of the current thread with the extension of the
+ * HotSpot JVM
+ */
+public class ThreadAllocationCounter implements IAllocationCounter {
+
+	private final com.sun.management.ThreadMXBean threadBean;
+
+	private ThreadAllocationCounter(com.sun.management.ThreadMXBean threadBean) {
+		this.threadBean = threadBean;
+	}
+
+	/**
+	 * @return a counter, null if the JVM cannot count allocations
+	 */
+	public static ThreadAllocationCounter create() {
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+			return null;
+		}
+		com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) bean;
+		if (!threadBean.isThreadAllocatedMemorySupported()) {
+			return null;
+		}
+		threadBean.setThreadAllocatedMemoryEnabled(true);
+		return new ThreadAllocationCounter(threadBean);
+	}
+
+	@Override
+	public long allocatedBytes() {
+		return threadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+}
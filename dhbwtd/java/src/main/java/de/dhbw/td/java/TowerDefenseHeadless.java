@@ -0,0 +1,48 @@
+/*  Copyright (C) 2013 by Jan-Christoph Klie, Inc. All rights reserved.
+ *  Released under the terms of the GNU General Public License version 3 or later.
+ *
+ *  Contributors:
+ *  Jan-Christoph Klie - All
+ */
+
+package de.dhbw.td.java;
+
+import static de.dhbw.td.core.util.GameConstants.UPDATE_RATE;
+import de.dhbw.td.core.game.GameState;
+import de.dhbw.td.core.game.HeadlessGame;
+import de.dhbw.td.tools.ClasspathDataSource;
+
+/**
+ * Plays games without a window, e.g. for balancing or on a CI server.
+ * Usage: TowerDefenseHeadless [games] [seed] [maxTicks]
+ */
+public class TowerDefenseHeadless {
+
+	public static void main(String[] args) {
+		int games = args.length > 0 ? Integer.parseInt(args[0]) : 1;
+		long seed = args.length > 1 ? Long.parseLong(args[1]) : 0;
+		long maxTicks = args.length > 2 ? Long.parseLong(args[2]) : 1000000;
+
+		int updateRate = Integer.getInteger("dhbwtd.updateRate", UPDATE_RATE);
+		ClasspathDataSource data = new ClasspathDataSource();
+
+		for (int i = 0; i < games; i++) {
+			HeadlessGame game = new HeadlessGame(data, seed + i, updateRate);
+			game.start();
+
+			long start = System.nanoTime();
+			long ticks = game.runUntilOver(maxTicks);
+			double seconds = (System.nanoTime() - start) / 1e9;
+
+			GameState state = game.state();
+			System.out.println("seed=" + (seed + i)
+					+ " status=" + state.status()
+					+ " level=" + state.levelCount()
+					+ " wave=" + state.waveCount()
+					+ " lifepoints=" + state.lifepoints()
+					+ " credits=" + state.credits()
+					+ " ticks=" + ticks
+					+ " ticksPerSecond=" + (long) (ticks / seconds));
+		}
+	}
+}
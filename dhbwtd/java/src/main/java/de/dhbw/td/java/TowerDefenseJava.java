@@ -7,12 +7,17 @@
 
 package de.dhbw.td.java;
 
+import static de.dhbw.td.core.util.GameConstants.IDLE_REPAINT_INTERVAL;
+import static de.dhbw.td.core.util.GameConstants.UPDATE_RATE;
+
 import java.io.IOException;
 
 import playn.core.PlayN;
 import playn.java.JavaPlatform;
 import playn.java.JavaPlatform.Config;
 import de.dhbw.td.core.TowerDefense;
+import de.dhbw.td.core.profiling.IClock;
+import de.dhbw.td.core.profiling.Profiler;
 
 public class TowerDefenseJava {
 
@@ -27,7 +32,31 @@ public class TowerDefenseJava {
 		platform.setTitle("DHBW Tower Defense");		
 		platform.graphics().registerFont("Miso", "fonts/miso.otf");
 		
-		TowerDefense towerDefense = new TowerDefense();
+		// Simulation steps per second, e.g. -Ddhbwtd.updateRate=15 to save CPU on slow machines
+		int updateRate = Integer.getInteger("dhbwtd.updateRate", UPDATE_RATE);
+		// Layer per game object instead of immediate drawing, -Ddhbwtd.sceneGraph=true
+		boolean sceneGraph = Boolean.getBoolean("dhbwtd.sceneGraph");
+		TowerDefense towerDefense = new TowerDefense(updateRate, sceneGraph);
+		// Health bars without steps, -Ddhbwtd.continuousHealthBars=true
+		towerDefense.setContinuousHealthBars(Boolean.getBoolean("dhbwtd.continuousHealthBars"));
+		// Milliseconds between frames painted without a change, 0 paints only on changes
+		towerDefense.setIdleRepaintInterval(Integer.getInteger("dhbwtd.idleRepaintInterval", IDLE_REPAINT_INTERVAL));
+		
+		// The profiler overlay is toggled by F3, the clock of the platform only counts milliseconds
+		Profiler profiler = towerDefense.profiler();
+		profiler.setClock(new IClock() {
+			@Override
+			public double now() {
+				return System.nanoTime() / 1e6;
+			}
+		});
+		profiler.setAllocationCounter(ThreadAllocationCounter.create());
+		// Profiler numbers as CSV, -Ddhbwtd.profileCsv=profile.csv
+		String csv = System.getProperty("dhbwtd.profileCsv");
+		if (csv != null) {
+			profiler.addListener(new CsvProfilerListener(csv));
+			profiler.setEnabled(true);
+		}
 		
 		
 		PlayN.run(towerDefense);